@@ -2,8 +2,11 @@ package com.sistemaos.config;
 
 import com.sistemaos.security.JwtAuthorizationFilter;
 import com.sistemaos.security.JwtUtil;
+import com.sistemaos.security.RevogacaoTokens;
+import com.sistemaos.security.VersaoTokenUsuario;
 import com.sistemaos.service.CustomUserDetailsService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -32,10 +35,21 @@ public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final VersaoTokenUsuario versaoTokenUsuario;
+    private final RevogacaoTokens revogacaoTokens;
+    private final boolean claimsAutocontidas;
+    private final int forcaBcrypt;
 
-    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                          VersaoTokenUsuario versaoTokenUsuario, RevogacaoTokens revogacaoTokens,
+                          @Value("${jwt.claims-autocontidas:true}") boolean claimsAutocontidas,
+                          @Value("${seguranca.bcrypt.forca:10}") int forcaBcrypt) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.versaoTokenUsuario = versaoTokenUsuario;
+        this.revogacaoTokens = revogacaoTokens;
+        this.claimsAutocontidas = claimsAutocontidas;
+        this.forcaBcrypt = forcaBcrypt;
     }
 
     @Bean
@@ -49,8 +63,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/refresh", "/api/auth/logout").permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/avatares/**").permitAll()
                 .requestMatchers("/api/produtos/**").hasAnyRole("ADMIN", "OPERADOR")
                 .requestMatchers("/api/usuarios/**").hasRole("ADMIN")
                 .requestMatchers("/api/ordens-servico/**").hasAnyRole("ADMIN", "OPERADOR")
@@ -82,7 +97,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Senhas com custo menor são refeitas no próximo login (AuthService)
+        return new BCryptPasswordEncoder(forcaBcrypt);
     }
 
     @Bean
@@ -96,6 +112,7 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthorizationFilter jwtAuthorizationFilter() {
-        return new JwtAuthorizationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthorizationFilter(jwtUtil, userDetailsService, versaoTokenUsuario, revogacaoTokens,
+                claimsAutocontidas);
     }
 } 
\ No newline at end of file
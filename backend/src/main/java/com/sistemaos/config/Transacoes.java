@@ -0,0 +1,31 @@
+package com.sistemaos.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitários para efeitos em memória que só devem valer depois que a
+ * transação corrente for confirmada.
+ */
+public final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente; sem transação
+     * ativa, executa imediatamente. Em rollback a ação é descartada.
+     */
+    public static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
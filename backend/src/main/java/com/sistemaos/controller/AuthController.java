@@ -1,18 +1,26 @@
 package com.sistemaos.controller;
 
 import com.sistemaos.domain.dto.LoginDTO;
+import com.sistemaos.domain.dto.RenovacaoTokenDTO;
 import com.sistemaos.domain.dto.TokenDTO;
 import com.sistemaos.service.AuthService;
+import com.sistemaos.service.TokenRenovacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -23,10 +31,11 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenRenovacaoService tokenRenovacaoService;
 
     @PostMapping("/login")
     @Operation(summary = "Realizar login", description = "Autentica um usuário e retorna um token JWT")
-    public ResponseEntity<?> login(@RequestBody LoginDTO loginDTO) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginDTO loginDTO) {
         log.info("Recebida requisição de login. Dados recebidos: {}", loginDTO);
         
         // Validação dos campos
@@ -35,7 +44,7 @@ public class AuthController {
         if (loginDTO == null) {
             log.error("LoginDTO é nulo");
             errors.put("message", "Dados de login não fornecidos");
-            return ResponseEntity.badRequest().body(errors);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errors));
         }
         
         if (loginDTO.getEmail() == null || loginDTO.getEmail().trim().isEmpty()) {
@@ -50,23 +59,57 @@ public class AuthController {
         
         if (!errors.isEmpty()) {
             log.error("Erros de validação: {}", errors);
-            return ResponseEntity.badRequest().body(errors);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errors));
         }
         
         try {
-            TokenDTO tokenDTO = authService.autenticar(loginDTO);
-            log.info("Login realizado com sucesso para o email: {}", loginDTO.getEmail());
-            return ResponseEntity.ok(tokenDTO);
+            // A verificação da senha roda no pool de login; a thread do Tomcat fica livre enquanto isso
+            return authService.autenticar(loginDTO).handle((tokenDTO, erro) -> {
+                if (erro == null) {
+                    log.info("Login realizado com sucesso para o email: {}", loginDTO.getEmail());
+                    return ResponseEntity.ok(tokenDTO);
+                }
+                Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+                Map<String, String> error = new HashMap<>();
+                if (causa instanceof BadCredentialsException) {
+                    log.error("Credenciais inválidas para o email: {}", loginDTO.getEmail());
+                    error.put("message", "Email ou senha inválidos");
+                    return ResponseEntity.status(401).body(error);
+                }
+                log.error("Erro ao realizar login para o email: {}. Erro: {}", loginDTO.getEmail(), causa.getMessage(), causa);
+                error.put("message", "Erro ao realizar login: " + causa.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de login cheia, recusando login para o email: {}", loginDTO.getEmail());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Muitos logins simultâneos, tente novamente em instantes");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(error));
+        }
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Troca um refresh token por um novo access token e um novo refresh token")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RenovacaoTokenDTO dto) {
+        try {
+            return ResponseEntity.ok(tokenRenovacaoService.renovar(dto.getRefreshToken()));
         } catch (BadCredentialsException e) {
-            log.error("Credenciais inválidas para o email: {}", loginDTO.getEmail());
+            log.warn("Falha na renovação de token: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
-            error.put("message", "Email ou senha inválidos");
+            error.put("message", "Sessão expirada, faça login novamente");
             return ResponseEntity.status(401).body(error);
-        } catch (Exception e) {
-            log.error("Erro ao realizar login para o email: {}. Erro: {}", loginDTO.getEmail(), e.getMessage(), e);
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Erro ao realizar login: " + e.getMessage());
-            return ResponseEntity.badRequest().body(error);
         }
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/logout")
+    @Operation(summary = "Encerrar sessão", description = "Revoga o access token e o refresh token informados")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) RenovacaoTokenDTO dto) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        tokenRenovacaoService.encerrar(accessToken, dto != null ? dto.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sistemaos.controller;
+
+import com.sistemaos.service.AvatarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serve os avatares pela URL versionada de {@link AvatarService#url}. Como o
+ * conteúdo de uma URL nunca muda, a resposta pode ficar em cache por um ano
+ * (inclusive em proxies) e o navegador não precisa revalidar. É pública
+ * porque tags {@code <img>} não enviam o token.
+ */
+@RestController
+@RequestMapping("/api/avatares")
+@RequiredArgsConstructor
+@Tag(name = "Avatares", description = "Imagens de avatar dos usuários")
+public class AvatarController {
+
+    private static final CacheControl CACHE_PERMANENTE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
+    private final AvatarService avatarService;
+
+    @GetMapping("/{usuarioId}/{versao}")
+    @Operation(summary = "Miniatura do avatar", description = "Miniatura do avatar do usuário na versão informada")
+    public ResponseEntity<byte[]> miniatura(
+            @PathVariable Long usuarioId,
+            @PathVariable String versao,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responder(usuarioId, versao, ifNoneMatch, true);
+    }
+
+    @GetMapping("/{usuarioId}/{versao}/original")
+    @Operation(summary = "Avatar", description = "Avatar do usuário no tamanho máximo armazenado")
+    public ResponseEntity<byte[]> original(
+            @PathVariable Long usuarioId,
+            @PathVariable String versao,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responder(usuarioId, versao, ifNoneMatch, false);
+    }
+
+    private ResponseEntity<byte[]> responder(Long usuarioId, String versao, String ifNoneMatch, boolean miniatura) {
+        String etag = (miniatura ? "m-" : "o-") + versao;
+        if (etag.equals(CabecalhosHttp.versaoDoEtag(ifNoneMatch))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CACHE_PERMANENTE)
+                    .build();
+        }
+
+        Optional<byte[]> imagem = avatarService.buscar(usuarioId, versao, miniatura);
+        if (imagem.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(AvatarService.CONTENT_TYPE))
+                .contentLength(imagem.get().length)
+                .eTag(etag)
+                .cacheControl(CACHE_PERMANENTE)
+                .body(imagem.get());
+    }
+}
@@ -0,0 +1,26 @@
+package com.sistemaos.controller;
+
+/**
+ * Leitura de cabeçalhos HTTP comuns aos endpoints com cache condicional
+ * (PDFs e avatares).
+ */
+final class CabecalhosHttp {
+
+    private CabecalhosHttp() {
+    }
+
+    /**
+     * Versão contida no primeiro ETag de um {@code If-None-Match}, sem aspas
+     * nem o prefixo {@code W/} de ETag fraco; nulo se o cabeçalho não veio.
+     */
+    static String versaoDoEtag(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        String etag = ifNoneMatch.split(",")[0].trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        return etag.replace("\"", "");
+    }
+}
@@ -3,7 +3,10 @@ package com.sistemaos.controller;
 import com.sistemaos.domain.dto.ClienteCreateDTO;
 import com.sistemaos.domain.dto.ClienteDTO;
 import com.sistemaos.domain.dto.ClienteUpdateDTO;
+import com.sistemaos.domain.dto.PaginaCursorDTO;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
 import com.sistemaos.service.ClienteService;
+import com.sistemaos.service.OrdemServicoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +21,7 @@ import java.util.List;
 public class ClienteController {
     
     private final ClienteService clienteService;
+    private final OrdemServicoService ordemServicoService;
     
     @GetMapping
     public ResponseEntity<List<ClienteDTO>> findAll() {
@@ -25,12 +29,37 @@ public class ClienteController {
         return ResponseEntity.ok(clientes);
     }
     
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaCursorDTO<ClienteDTO>> buscar(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String documento,
+            @RequestParam(required = false) String telefone,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(clienteService.buscar(nome, documento, telefone, cursor, tamanho));
+    }
+    
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<ClienteDTO>> sugerir(
+            @RequestParam String termo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(clienteService.sugerir(termo, limite));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ClienteDTO> findById(@PathVariable Long id) {
         ClienteDTO cliente = clienteService.findById(id);
         return ResponseEntity.ok(cliente);
     }
     
+    @GetMapping("/{id}/ordens")
+    public ResponseEntity<PaginaCursorDTO<OrdemServicoResumo>> listarOrdens(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(ordemServicoService.buscarPorClientePorCursor(id, cursor, tamanho));
+    }
+    
     @PostMapping
     public ResponseEntity<ClienteDTO> create(@Valid @RequestBody ClienteCreateDTO dto) {
         ClienteDTO cliente = clienteService.create(dto);
@@ -1,11 +1,17 @@
 package com.sistemaos.controller;
 
+import com.sistemaos.domain.dto.ImportacaoResultadoDTO;
 import com.sistemaos.domain.dto.OrdemServicoDTO;
 import com.sistemaos.domain.dto.OrdemServicoCreateDTO;
 import com.sistemaos.domain.dto.OrdemServicoUpdateDTO;
+import com.sistemaos.domain.dto.PaginaCursorDTO;
 import com.sistemaos.domain.dto.RelatorioDTO;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+import com.sistemaos.service.FormatoArquivo;
+import com.sistemaos.service.GeracaoPdfService;
+import com.sistemaos.service.ImportacaoOrdemServicoService;
 import com.sistemaos.service.OrdemServicoService;
-import com.sistemaos.service.PDFService;
+import com.sistemaos.service.RelatorioExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,8 +25,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,7 +43,9 @@ import java.util.Map;
 public class OrdemServicoController {
 
     private final OrdemServicoService ordemServicoService;
-    private final PDFService pdfService;
+    private final GeracaoPdfService geracaoPdfService;
+    private final RelatorioExportService relatorioExportService;
+    private final ImportacaoOrdemServicoService importacaoOrdemServicoService;
 
     @PostMapping
     @Operation(summary = "Criar OS", description = "Cria uma nova ordem de serviço")
@@ -49,6 +60,15 @@ public class OrdemServicoController {
         return ResponseEntity.created(location).body(novaOS);
     }
 
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Importar OS", description = "Importa ordens de serviço em massa a partir de um arquivo CSV ou NDJSON")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportacaoResultadoDTO> importar(
+            @RequestParam(defaultValue = "CSV") FormatoArquivo formato,
+            InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoOrdemServicoService.importar(corpo, formato));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar OS", description = "Busca uma ordem de serviço pelo ID")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
@@ -59,12 +79,22 @@ public class OrdemServicoController {
     @GetMapping("/responsavel/{responsavelId}")
     @Operation(summary = "Listar OS por responsável", description = "Lista todas as ordens de serviço de um responsável")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
-    public ResponseEntity<Page<OrdemServicoDTO>> buscarPorResponsavel(
+    public ResponseEntity<Page<OrdemServicoResumo>> buscarPorResponsavel(
             @PathVariable Long responsavelId,
             Pageable pageable) {
         return ResponseEntity.ok(ordemServicoService.buscarPorResponsavel(responsavelId, pageable));
     }
 
+    @GetMapping("/responsavel/{responsavelId}/cursor")
+    @Operation(summary = "Listar OS por responsável (cursor)", description = "Lista as ordens de serviço de um responsável paginando por cursor, sem contagem total")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
+    public ResponseEntity<PaginaCursorDTO<OrdemServicoResumo>> buscarPorResponsavelPorCursor(
+            @PathVariable Long responsavelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(ordemServicoService.buscarPorResponsavelPorCursor(responsavelId, cursor, tamanho));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar OS", description = "Atualiza uma ordem de serviço")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
@@ -83,23 +113,51 @@ public class OrdemServicoController {
         return ResponseEntity.ok(ordemServicoService.gerarRelatorio(inicio, fim));
     }
 
+    @GetMapping("/relatorio/exportar")
+    @Operation(summary = "Exportar relatório", description = "Exporta as ordens de serviço do período em NDJSON ou CSV, em streaming")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarRelatorio(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "NDJSON") FormatoArquivo formato) {
+        StreamingResponseBody body = out -> relatorioExportService.exportar(inicio, fim, formato, out);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"));
+        headers.setContentDispositionFormData("filename", "relatorio." + formato.getExtensao());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
     @GetMapping
     @Operation(summary = "Listar todas OS", description = "Lista todas as ordens de serviço (apenas admin)")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
-    public ResponseEntity<Page<OrdemServicoDTO>> listarTodas(Pageable pageable) {
+    public ResponseEntity<Page<OrdemServicoResumo>> listarTodas(Pageable pageable) {
         return ResponseEntity.ok(ordemServicoService.listarTodas(pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar OS (cursor)", description = "Lista as ordens de serviço paginando por cursor, sem contagem total")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
+    public ResponseEntity<PaginaCursorDTO<OrdemServicoResumo>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(ordemServicoService.listarPorCursor(cursor, tamanho));
+    }
+
     @GetMapping("/{id}/pdf")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
-    public ResponseEntity<byte[]> gerarPDF(@PathVariable Long id) {
-        byte[] pdf = pdfService.gerarPDF(id);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("filename", "ordem-servico.pdf");
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdf);
+    public ResponseEntity<StreamingResponseBody> gerarPDF(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return RespostaPdf.montar(geracaoPdfService.obterPdf(id, CabecalhosHttp.versaoDoEtag(ifNoneMatch)), "ordem-servico.pdf");
+    }
+
+    @GetMapping("/{id}/pdf/status")
+    @Operation(summary = "Status do PDF", description = "Informa se o PDF da OS já foi gerado em segundo plano")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
+    public ResponseEntity<Map<String, GeracaoPdfService.StatusPdf>> statusPDF(@PathVariable Long id) {
+        return ResponseEntity.ok(Map.of("status", geracaoPdfService.consultarStatus(id)));
     }
 
     @GetMapping("/status-count")
@@ -1,29 +1,70 @@
 package com.sistemaos.controller;
 
-import com.sistemaos.service.PDFService;
+import com.sistemaos.domain.entity.Cliente;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.service.ExportacaoPdfZipService;
+import com.sistemaos.service.ExtratoClientePdfService;
+import com.sistemaos.service.GeracaoPdfService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/pdf")
 @RequiredArgsConstructor
 public class PDFController {
 
-    private final PDFService pdfService;
+    private final GeracaoPdfService geracaoPdfService;
+    private final ExportacaoPdfZipService exportacaoPdfZipService;
+    private final ExtratoClientePdfService extratoClientePdfService;
 
     @GetMapping("/ordem-servico/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
-    public ResponseEntity<byte[]> gerarPDFOrdemServico(@PathVariable Long id) {
-        byte[] pdf = pdfService.gerarPDF(id);
+    public ResponseEntity<StreamingResponseBody> gerarPDFOrdemServico(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return RespostaPdf.montar(geracaoPdfService.obterPdf(id, CabecalhosHttp.versaoDoEtag(ifNoneMatch)), "ordem-servico.pdf");
+    }
+
+    @GetMapping("/ordens-servico/zip")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
+    public ResponseEntity<StreamingResponseBody> exportarZip(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) OrdemServico.StatusOrdemServico status,
+            @RequestParam(required = false) Long responsavelId) {
+        StreamingResponseBody body = out -> exportacaoPdfZipService.exportar(inicio, fim, status, responsavelId, out);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("filename", "ordens-servico.zip");
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    @GetMapping("/clientes/extrato")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OPERADOR')")
+    public ResponseEntity<StreamingResponseBody> gerarExtratoCliente(
+            @RequestParam String documento,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        // Verificado antes do streaming, quando ainda dá para responder 400
+        if (Cliente.normalizarDocumento(documento) == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> extratoClientePdfService.gerarExtrato(documento.trim(), inicio, fim, out);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("filename", "ordem-servico.pdf");
+        headers.setContentDispositionFormData("filename", "extrato-cliente.pdf");
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdf);
+                .body(body);
     }
-} 
\ No newline at end of file
+}
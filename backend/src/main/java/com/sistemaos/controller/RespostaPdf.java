@@ -0,0 +1,42 @@
+package com.sistemaos.controller;
+
+import com.sistemaos.service.GeracaoPdfService.DocumentoPdf;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Monta as respostas dos endpoints de PDF com ETag, para que o navegador
+ * revalide com {@code If-None-Match} e receba 304 quando nada mudou.
+ */
+final class RespostaPdf {
+
+    private RespostaPdf() {
+    }
+
+    /**
+     * O corpo é escrito direto na resposta, sem {@code Content-Length} quando
+     * o PDF é renderizado na hora (transferência em chunks).
+     */
+    static ResponseEntity<StreamingResponseBody> montar(DocumentoPdf pdf, String nomeArquivo) {
+        if (pdf.conteudo() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(pdf.versao())
+                    .build();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("filename", nomeArquivo);
+        if (pdf.tamanho() != null) {
+            headers.setContentLength(pdf.tamanho());
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(pdf.versao())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(pdf.conteudo()::escrever);
+    }
+}
@@ -9,13 +9,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -45,6 +49,13 @@ public class UsuarioController {
         return ResponseEntity.created(location).body(novoUsuario);
     }
 
+    @GetMapping("/cache-autenticacao")
+    @Operation(summary = "Estatísticas do cache de autenticação", description = "Acertos e falhas do cache de usuários autenticados")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> estatisticasCacheAutenticacao() {
+        return ResponseEntity.ok(usuarioService.estatisticasCachePrincipal());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar usuário", description = "Busca um usuário pelo ID")
     @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
@@ -59,6 +70,22 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarioService.atualizar(id, usuarioDTO));
     }
 
+    @PutMapping(value = "/{id}/avatar", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/bmp"})
+    @Operation(summary = "Enviar avatar", description = "Substitui o avatar do usuário; a imagem é redimensionada e ganha uma miniatura")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public ResponseEntity<UsuarioDTO> atualizarAvatar(@PathVariable Long id, InputStream imagem) throws IOException {
+        return ResponseEntity.ok(usuarioService.atualizarAvatar(id, imagem));
+    }
+
+    @DeleteMapping("/{id}/avatar")
+    @Operation(summary = "Remover avatar", description = "Remove o avatar do usuário")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public ResponseEntity<Void> removerAvatar(@PathVariable Long id) {
+        usuarioService.removerAvatar(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar usuário", description = "Remove um usuário do sistema")
     @PreAuthorize("hasRole('ADMIN')")
@@ -1,5 +1,6 @@
 package com.sistemaos.domain.dto;
 
+import com.sistemaos.domain.entity.EquipamentoUsado;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,4 +17,14 @@ public class EquipamentoUsadoDTO {
     private Integer quantidade;
     private BigDecimal valorUnitario;
     private BigDecimal valorTotal;
+
+    public static EquipamentoUsadoDTO fromEntity(EquipamentoUsado equipamento) {
+        return EquipamentoUsadoDTO.builder()
+                .produtoId(equipamento.getProduto().getId())
+                .nome(equipamento.getProduto().getNome())
+                .quantidade(equipamento.getQuantidade())
+                .valorUnitario(equipamento.getValorUnitario())
+                .valorTotal(equipamento.getValorTotal())
+                .build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.sistemaos.domain.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportacaoResultadoDTO {
+    private long linhasLidas;
+    private long importadas;
+    private long rejeitadas;
+    private List<ErroLinha> erros;
+    private boolean errosTruncados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private long linha;
+        private String mensagem;
+    }
+}
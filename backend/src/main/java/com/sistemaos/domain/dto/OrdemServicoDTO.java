@@ -1,6 +1,7 @@
 package com.sistemaos.domain.dto;
 
 import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.entity.Usuario;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -21,6 +22,7 @@ public class OrdemServicoDTO {
     private String documentoCliente;
     private String telefoneCliente;
     private String enderecoCliente;
+    private Long clienteId;
     private UsuarioDTO responsavel;
     private LocalDateTime dataAbertura;
     private LocalDateTime dataFechamento;
@@ -33,4 +35,39 @@ public class OrdemServicoDTO {
     private String modelo;
     private String numeroSerie;
     private List<EquipamentoUsadoDTO> equipamentosUsados;
+
+    /**
+     * Converte a OS com os equipamentos já convertidos, para que quem chama
+     * decida como carregá-los (coleção da entidade ou consulta em lote).
+     */
+    public static OrdemServicoDTO fromEntity(OrdemServico os, List<EquipamentoUsadoDTO> equipamentosUsados) {
+        Usuario responsavel = os.getResponsavel();
+        return OrdemServicoDTO.builder()
+                .id(os.getId())
+                .numero(os.getNumero())
+                .nomeCliente(os.getNomeCliente())
+                .documentoCliente(os.getDocumentoCliente())
+                .clienteId(os.getCliente() != null ? os.getCliente().getId() : null)
+                .telefoneCliente(os.getTelefoneCliente())
+                .enderecoCliente(os.getEnderecoCliente())
+                .responsavel(UsuarioDTO.builder()
+                        .id(responsavel.getId())
+                        .nome(responsavel.getNome())
+                        .email(responsavel.getEmail())
+                        .tipo(responsavel.getTipo())
+                        .telefone(responsavel.getTelefone())
+                        .build())
+                .dataAbertura(os.getDataAbertura())
+                .dataFechamento(os.getDataFechamento())
+                .status(os.getStatus())
+                .descricaoProblema(os.getDescricaoProblema())
+                .solucao(os.getSolucao())
+                .valorTotal(os.getValorTotal())
+                .equipamento(os.getEquipamento())
+                .marca(os.getMarca())
+                .modelo(os.getModelo())
+                .numeroSerie(os.getNumeroSerie())
+                .equipamentosUsados(equipamentosUsados)
+                .build();
+    }
 } 
\ No newline at end of file
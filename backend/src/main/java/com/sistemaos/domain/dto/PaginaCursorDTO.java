@@ -0,0 +1,19 @@
+package com.sistemaos.domain.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaCursorDTO<T> {
+    private List<T> conteudo;
+    private int tamanho;
+    private boolean temProxima;
+    private String proximoCursor;
+}
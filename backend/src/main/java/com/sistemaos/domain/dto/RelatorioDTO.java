@@ -1,5 +1,7 @@
 package com.sistemaos.domain.dto;
 
+import com.sistemaos.domain.projection.ResumoResponsavel;
+import com.sistemaos.domain.projection.ResumoStatus;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -17,5 +19,7 @@ public class RelatorioDTO {
     private LocalDateTime dataFim;
     private Long totalOS;
     private BigDecimal valorTotal;
+    private List<ResumoStatus> porStatus;
+    private List<ResumoResponsavel> porResponsavel;
     private List<OrdemServicoDTO> ordens;
 } 
\ No newline at end of file
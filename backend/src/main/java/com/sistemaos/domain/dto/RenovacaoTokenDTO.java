@@ -0,0 +1,16 @@
+package com.sistemaos.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "refreshToken")
+public class RenovacaoTokenDTO {
+    @NotBlank(message = "Refresh token é obrigatório")
+    private String refreshToken;
+}
@@ -12,10 +12,11 @@ import lombok.Builder;
 @Builder
 public class TokenDTO {
     private String token;
+    private String refreshToken;
     private String tipo;
     private Long id;
     private String nome;
     private String email;
     private Usuario.TipoUsuario tipoUsuario;
-    private String avatar;
+    private String avatarUrl;
 } 
\ No newline at end of file
@@ -16,5 +16,6 @@ public class UsuarioCreateDTO {
     private String senha;
     private Usuario.TipoUsuario tipo;
     private String telefone;
+    // Opcional, em base64; o envio direto da imagem é pelo PUT /api/usuarios/{id}/avatar
     private String avatar;
 } 
\ No newline at end of file
@@ -16,5 +16,5 @@ public class UsuarioDTO {
     private String email;
     private Usuario.TipoUsuario tipo;
     private String telefone;
-    private String avatar;
+    private String avatarUrl;
 } 
\ No newline at end of file
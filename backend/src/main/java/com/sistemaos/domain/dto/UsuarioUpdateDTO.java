@@ -14,5 +14,6 @@ public class UsuarioUpdateDTO {
     private String email;
     private String telefone;
     private String endereco;
+    // Opcional, em base64; nulo mantém o avatar atual
     private String avatar;
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.sistemaos.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Avatar de um usuário, fora da tabela {@code usuarios} para que carregar um
+ * usuário não traga a imagem junto. A chave é o id do usuário e a versão é um
+ * hash do conteúdo, usada na URL para permitir cache permanente.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"imagem", "miniatura"})
+@Table(name = "avatares_usuario")
+public class AvatarUsuario {
+
+    @Id
+    private Long usuarioId;
+
+    @Column(nullable = false, length = 16)
+    private String versao;
+
+    @Column(nullable = false)
+    private byte[] imagem;
+
+    @Column(nullable = false)
+    private byte[] miniatura;
+}
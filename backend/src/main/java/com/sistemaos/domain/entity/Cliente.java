@@ -7,17 +7,28 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = {
+    @Index(name = "idx_clientes_nome_busca_id", columnList = "nome_busca, id"),
+    @Index(name = "idx_clientes_documento_normalizado", columnList = "documento_normalizado", unique = true),
+    @Index(name = "idx_clientes_contato_normalizado", columnList = "contato_normalizado")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cliente {
-    
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientes_seq")
+    @SequenceGenerator(name = "clientes_seq", sequenceName = "clientes_seq", allocationSize = Sequencias.ALOCACAO)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -31,6 +42,18 @@ public class Cliente {
     
     @Column(nullable = false)
     private String endereco;
+
+    // Colunas de busca, mantidas a partir das originais. Collation "C" para que
+    // o índice B-tree atenda LIKE 'prefixo%' e a ordenação ao mesmo tempo.
+    @Column(name = "nome_busca", nullable = false, columnDefinition = "VARCHAR(255) COLLATE \"C\"")
+    private String nomeBusca;
+
+    // Único: "123.456.789-00" e "12345678900" são o mesmo cliente. Nulo se o documento não tiver dígitos
+    @Column(name = "documento_normalizado", columnDefinition = "VARCHAR(14) COLLATE \"C\"")
+    private String documentoNormalizado;
+
+    @Column(name = "contato_normalizado", nullable = false, columnDefinition = "VARCHAR(15) COLLATE \"C\"")
+    private String contatoNormalizado;
     
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -39,4 +62,39 @@ public class Cliente {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
-} 
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void normalizar() {
+        nomeBusca = normalizarNome(nome);
+        documentoNormalizado = normalizarDocumento(documento);
+        contatoNormalizado = somenteDigitos(contato);
+    }
+
+    /**
+     * Nome em minúsculas, sem acentos e com espaços simples, como é comparado na busca.
+     */
+    public static String normalizarNome(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    /**
+     * Dígitos do CPF/CNPJ, ou {@code null} se não houver nenhum (ex.: "ISENTO"),
+     * para que esses documentos nunca sejam considerados iguais entre si.
+     */
+    public static String normalizarDocumento(String documento) {
+        String digitos = somenteDigitos(documento);
+        return digitos.isEmpty() ? null : digitos;
+    }
+
+    /**
+     * CPF/CNPJ ou telefone sem pontuação.
+     */
+    public static String somenteDigitos(String valor) {
+        return valor == null ? "" : NAO_DIGITOS.matcher(valor).replaceAll("");
+    }
+}
@@ -16,14 +16,15 @@ import java.math.BigDecimal;
 public class EquipamentoUsado {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipamento_usado_seq")
+    @SequenceGenerator(name = "equipamento_usado_seq", sequenceName = "equipamento_usado_seq", allocationSize = Sequencias.ALOCACAO)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ordem_servico_id")
     private OrdemServico ordemServico;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "produto_id")
     private Produto produto;
 
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,10 +16,25 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = OrdemServico.GRAFO_DETALHE,
+    attributeNodes = {
+        @NamedAttributeNode("responsavel"),
+        @NamedAttributeNode(value = "equipamentosUsados", subgraph = "equipamentos")
+    },
+    subgraphs = @NamedSubgraph(name = "equipamentos", attributeNodes = @NamedAttributeNode("produto")))
+@Table(name = "ordem_servico", indexes = {
+    @Index(name = "idx_os_data_abertura_id", columnList = "data_abertura, id"),
+    @Index(name = "idx_os_responsavel_data_abertura_id", columnList = "responsavel_id, data_abertura, id"),
+    @Index(name = "idx_os_documento_cliente_data_abertura_id", columnList = "documento_cliente_normalizado, data_abertura, id"),
+    @Index(name = "idx_os_cliente_data_abertura_id", columnList = "cliente_id, data_abertura, id")
+})
 public class OrdemServico {
 
+    public static final String GRAFO_DETALHE = "OrdemServico.detalhe";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordem_servico_seq")
+    @SequenceGenerator(name = "ordem_servico_seq", sequenceName = "ordem_servico_seq", allocationSize = Sequencias.ALOCACAO)
     private Long id;
 
     @Column(unique = true)
@@ -29,7 +45,17 @@ public class OrdemServico {
     private String telefoneCliente;
     private String enderecoCliente;
 
-    @ManyToOne
+    // Dígitos de documentoCliente ("" se não houver), para o vínculo com o cliente usar índice.
+    // Nulo apenas em OS gravadas antes da coluna existir, até o VinculoClienteOrdemServico preencher
+    @Column(name = "documento_cliente_normalizado")
+    private String documentoClienteNormalizado;
+
+    // Cliente cadastrado com o mesmo documento; os campos acima guardam os dados da época da OS
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id")
+    private Cliente cliente;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "responsavel_id")
     private Usuario responsavel;
 
@@ -57,9 +83,16 @@ public class OrdemServico {
     private String modelo;
     private String numeroSerie;
 
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "ordemServico", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<EquipamentoUsado> equipamentosUsados;
 
+    @PrePersist
+    @PreUpdate
+    void normalizarDocumentoCliente() {
+        documentoClienteNormalizado = Cliente.somenteDigitos(documentoCliente);
+    }
+
     public enum StatusOrdemServico {
         ABERTA,
         EM_ANDAMENTO,
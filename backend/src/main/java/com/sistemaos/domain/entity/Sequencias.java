@@ -0,0 +1,15 @@
+package com.sistemaos.domain.entity;
+
+/**
+ * Tamanho do bloco de IDs reservado a cada {@code nextval}. Com mais de um ID
+ * por acesso o Hibernate usa o otimizador pooled
+ * ({@code hibernate.id.optimizer.pooled.preferred}), o que permite agrupar os
+ * inserts em lote. As sequences são criadas com este valor como INCREMENT.
+ */
+public final class Sequencias {
+
+    public static final int ALOCACAO = 50;
+
+    private Sequencias() {
+    }
+}
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class Servico {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servicos_seq")
+    @SequenceGenerator(name = "servicos_seq", sequenceName = "servicos_seq", allocationSize = Sequencias.ALOCACAO)
     private Long id;
     
     @Column(nullable = false)
@@ -0,0 +1,56 @@
+package com.sistemaos.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token emitido no login. Só o hash SHA-256 do token é guardado;
+ * cada uso gera um novo token e revoga o anterior. O motivo da revogação
+ * separa o token já renovado (reapresentá-lo indica roubo) do encerrado
+ * por logout.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tokens_renovacao", indexes = {
+    @Index(name = "idx_tokens_renovacao_usuario", columnList = "usuario_id"),
+    @Index(name = "idx_tokens_renovacao_expira_em", columnList = "expira_em")
+})
+public class TokenRenovacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tokens_renovacao_seq")
+    @SequenceGenerator(name = "tokens_renovacao_seq", sequenceName = "tokens_renovacao_seq", allocationSize = Sequencias.ALOCACAO)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(nullable = false, unique = true, length = 44)
+    private String hash;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean revogado = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private MotivoRevogacao motivoRevogacao;
+
+    public enum MotivoRevogacao {
+        RENOVADO,
+        ENCERRADO,
+        REUSO
+    }
+}
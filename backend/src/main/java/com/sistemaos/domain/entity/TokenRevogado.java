@@ -0,0 +1,35 @@
+package com.sistemaos.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access token revogado antes de expirar (ex.: logout), identificado pelo
+ * {@code jti}. Só precisa existir até a expiração do próprio token.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tokens_revogados", indexes = {
+    @Index(name = "idx_tokens_revogados_expira_em", columnList = "expira_em")
+})
+public class TokenRevogado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tokens_revogados_seq")
+    @SequenceGenerator(name = "tokens_revogados_seq", sequenceName = "tokens_revogados_seq", allocationSize = Sequencias.ALOCACAO)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -21,7 +21,8 @@ import java.util.List;
 public class Usuario implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = Sequencias.ALOCACAO)
     private Long id;
 
     @Column(nullable = false)
@@ -40,8 +41,14 @@ public class Usuario implements UserDetails {
     @Column
     private String telefone;
 
-    @Column(columnDefinition = "TEXT")
-    private String avatar;
+    // Versão do avatar em avatares_usuario (nula se não houver); a imagem fica fora desta tabela
+    @Column(length = 16)
+    private String avatarVersao;
+
+    // Incrementada para revogar os tokens já emitidos para o usuário
+    @Builder.Default
+    @Column(nullable = false)
+    private Long versaoToken = 0L;
 
     public enum TipoUsuario {
         ADMIN,
@@ -0,0 +1,6 @@
+package com.sistemaos.domain.projection;
+
+import com.sistemaos.domain.entity.OrdemServico;
+
+public record ContagemStatus(OrdemServico.StatusOrdemServico status, Long quantidade) {
+}
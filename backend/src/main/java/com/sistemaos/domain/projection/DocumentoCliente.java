@@ -0,0 +1,4 @@
+package com.sistemaos.domain.projection;
+
+public record DocumentoCliente(String documentoNormalizado, Long id) {
+}
@@ -0,0 +1,18 @@
+package com.sistemaos.domain.projection;
+
+import com.sistemaos.domain.dto.EquipamentoUsadoDTO;
+
+import java.math.BigDecimal;
+
+public record EquipamentoUsadoResumo(
+        Long ordemServicoId,
+        Long produtoId,
+        String nome,
+        Integer quantidade,
+        BigDecimal valorUnitario,
+        BigDecimal valorTotal) {
+
+    public EquipamentoUsadoDTO paraDTO() {
+        return new EquipamentoUsadoDTO(produtoId, nome, quantidade, valorUnitario, valorTotal);
+    }
+}
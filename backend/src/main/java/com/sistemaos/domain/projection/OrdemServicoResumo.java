@@ -0,0 +1,22 @@
+package com.sistemaos.domain.projection;
+
+import com.sistemaos.domain.entity.OrdemServico;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrdemServicoResumo(
+        Long id,
+        String numero,
+        String nomeCliente,
+        String documentoCliente,
+        String equipamento,
+        String marca,
+        String modelo,
+        OrdemServico.StatusOrdemServico status,
+        LocalDateTime dataAbertura,
+        LocalDateTime dataFechamento,
+        BigDecimal valorTotal,
+        Long responsavelId,
+        String responsavelNome) {
+}
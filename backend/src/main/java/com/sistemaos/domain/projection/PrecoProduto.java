@@ -0,0 +1,6 @@
+package com.sistemaos.domain.projection;
+
+import java.math.BigDecimal;
+
+public record PrecoProduto(Long id, BigDecimal preco) {
+}
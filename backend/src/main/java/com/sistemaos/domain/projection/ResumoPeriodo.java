@@ -0,0 +1,10 @@
+package com.sistemaos.domain.projection;
+
+import java.math.BigDecimal;
+
+public record ResumoPeriodo(Long quantidade, BigDecimal valorTotal, Double valorMedio) {
+
+    public BigDecimal valorTotalOuZero() {
+        return valorTotal != null ? valorTotal : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sistemaos.domain.projection;
+
+import java.math.BigDecimal;
+
+public record ResumoResponsavel(
+        Long responsavelId,
+        String nome,
+        Long quantidade,
+        BigDecimal valorTotal,
+        Double valorMedio) {
+}
@@ -0,0 +1,12 @@
+package com.sistemaos.domain.projection;
+
+import com.sistemaos.domain.entity.OrdemServico;
+
+import java.math.BigDecimal;
+
+public record ResumoStatus(
+        OrdemServico.StatusOrdemServico status,
+        Long quantidade,
+        BigDecimal valorTotal,
+        Double valorMedio) {
+}
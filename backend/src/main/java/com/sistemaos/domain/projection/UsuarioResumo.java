@@ -0,0 +1,6 @@
+package com.sistemaos.domain.projection;
+
+import com.sistemaos.domain.entity.Usuario;
+
+public record UsuarioResumo(Long id, String nome, String email, Usuario.TipoUsuario tipo, String telefone) {
+}
@@ -0,0 +1,20 @@
+package com.sistemaos.repository;
+
+import com.sistemaos.domain.entity.AvatarUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AvatarUsuarioRepository extends JpaRepository<AvatarUsuario, Long> {
+
+    // Cada consulta traz só a coluna servida, nunca as duas imagens
+    @Query("SELECT a.miniatura FROM AvatarUsuario a WHERE a.usuarioId = :usuarioId AND a.versao = :versao")
+    Optional<byte[]> buscarMiniatura(@Param("usuarioId") Long usuarioId, @Param("versao") String versao);
+
+    @Query("SELECT a.imagem FROM AvatarUsuario a WHERE a.usuarioId = :usuarioId AND a.versao = :versao")
+    Optional<byte[]> buscarImagem(@Param("usuarioId") Long usuarioId, @Param("versao") String versao);
+}
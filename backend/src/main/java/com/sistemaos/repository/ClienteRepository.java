@@ -1,13 +1,55 @@
 package com.sistemaos.repository;
 
+import com.sistemaos.domain.dto.ClienteDTO;
 import com.sistemaos.domain.entity.Cliente;
+import com.sistemaos.domain.projection.DocumentoCliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+
+    String SELECT_DTO = "SELECT new com.sistemaos.domain.dto.ClienteDTO(c.id, c.documento, c.nome, c.contato, " +
+                        "c.endereco, c.createdAt, c.updatedAt) FROM Cliente c ";
+
+    // Prefixos já normalizados e terminados em '%'; filtros nulos são ignorados
+    String FILTRO_BUSCA = "WHERE (:nome IS NULL OR c.nomeBusca LIKE :nome ESCAPE '!') " +
+                          "AND (:documento IS NULL OR c.documentoNormalizado LIKE :documento) " +
+                          "AND (:telefone IS NULL OR c.contatoNormalizado LIKE :telefone) ";
+
     Optional<Cliente> findByDocumento(String documento);
     boolean existsByDocumento(String documento);
-} 
\ No newline at end of file
+    boolean existsByDocumentoNormalizado(String documentoNormalizado);
+    Optional<Cliente> findByDocumentoNormalizado(String documentoNormalizado);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.documentoNormalizado = :documento")
+    Optional<Long> buscarIdPorDocumentoNormalizado(@Param("documento") String documento);
+
+    @Query("SELECT new com.sistemaos.domain.projection.DocumentoCliente(c.documentoNormalizado, c.id) FROM Cliente c " +
+           "WHERE c.documentoNormalizado IS NOT NULL")
+    List<DocumentoCliente> listarDocumentos();
+
+    @Query(SELECT_DTO + "ORDER BY c.nome")
+    List<ClienteDTO> listarDTOs();
+
+    @Query(SELECT_DTO + FILTRO_BUSCA + "ORDER BY c.nomeBusca, c.id")
+    Slice<ClienteDTO> buscarPrimeiraPagina(@Param("nome") String nome, @Param("documento") String documento,
+                                           @Param("telefone") String telefone, Pageable pageable);
+
+    @Query(SELECT_DTO + FILTRO_BUSCA +
+           // O limite redundante ">=" dá ao índice (nome_busca, id) o início da varredura
+           "AND c.nomeBusca >= :nomeBusca " +
+           "AND (c.nomeBusca > :nomeBusca OR (c.nomeBusca = :nomeBusca AND c.id > :id)) " +
+           "ORDER BY c.nomeBusca, c.id")
+    Slice<ClienteDTO> buscarAposCursor(@Param("nome") String nome, @Param("documento") String documento,
+                                       @Param("telefone") String telefone,
+                                       @Param("nomeBusca") String nomeBusca, @Param("id") Long id,
+                                       Pageable pageable);
+}
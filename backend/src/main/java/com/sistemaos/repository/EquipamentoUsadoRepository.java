@@ -1,7 +1,20 @@
 package com.sistemaos.repository;
 
 import com.sistemaos.domain.entity.EquipamentoUsado;
+import com.sistemaos.domain.projection.EquipamentoUsadoResumo;
 import org.springframework.data.jpa.repository.JpaRepository;
- 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
 public interface EquipamentoUsadoRepository extends JpaRepository<EquipamentoUsado, Long> {
-} 
\ No newline at end of file
+
+    // Equipamentos de várias OS em uma consulta, já com o nome do produto
+    @Query("SELECT new com.sistemaos.domain.projection.EquipamentoUsadoResumo(" +
+           "e.ordemServico.id, p.id, p.nome, e.quantidade, e.valorUnitario, e.valorTotal) " +
+           "FROM EquipamentoUsado e JOIN e.produto p WHERE e.ordemServico.id IN :ordemServicoIds " +
+           "ORDER BY e.ordemServico.id, e.id")
+    List<EquipamentoUsadoResumo> listarPorOrdens(@Param("ordemServicoIds") Collection<Long> ordemServicoIds);
+}
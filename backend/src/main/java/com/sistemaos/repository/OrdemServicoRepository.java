@@ -1,24 +1,159 @@
 package com.sistemaos.repository;
 
 import com.sistemaos.domain.entity.OrdemServico;
-import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.domain.projection.ContagemStatus;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+import com.sistemaos.domain.projection.ResumoPeriodo;
+import com.sistemaos.domain.projection.ResumoResponsavel;
+import com.sistemaos.domain.projection.ResumoStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long> {
-    Page<OrdemServico> findByResponsavel(Usuario responsavel, Pageable pageable);
+    String SELECT_RESUMO = "SELECT new com.sistemaos.domain.projection.OrdemServicoResumo(" +
+            "o.id, o.numero, o.nomeCliente, o.documentoCliente, o.equipamento, o.marca, o.modelo, " +
+            "o.status, o.dataAbertura, o.dataFechamento, o.valorTotal, r.id, r.nome) " +
+            "FROM OrdemServico o LEFT JOIN o.responsavel r ";
+
+    // Posição após o cursor (dataAbertura, id) em ordem decrescente. O limite redundante
+    // "dataAbertura <= :dataAbertura" vira o início da varredura no índice; sem ele o
+    // PostgreSQL percorre o índice desde a OS mais recente filtrando o OR
+    String APOS_CURSOR = "o.dataAbertura <= :dataAbertura " +
+            "AND (o.dataAbertura < :dataAbertura OR (o.dataAbertura = :dataAbertura AND o.id < :id)) ";
+
+    @EntityGraph(OrdemServico.GRAFO_DETALHE)
+    Optional<OrdemServico> findDetalhadaById(Long id);
+
+    // Listagens: apenas as colunas exibidas, sem hidratar entidades
+    @Query(value = SELECT_RESUMO,
+           countQuery = "SELECT COUNT(o) FROM OrdemServico o")
+    Page<OrdemServicoResumo> listarResumos(Pageable pageable);
+
+    @Query(value = SELECT_RESUMO + "WHERE r.id = :responsavelId",
+           countQuery = "SELECT COUNT(o) FROM OrdemServico o WHERE o.responsavel.id = :responsavelId")
+    Page<OrdemServicoResumo> listarResumosPorResponsavel(@Param("responsavelId") Long responsavelId, Pageable pageable);
+
+    @Query(SELECT_RESUMO + "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarPrimeiraPagina(Pageable pageable);
+
+    @Query(SELECT_RESUMO +
+           "WHERE " + APOS_CURSOR +
+           "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarAposCursor(@Param("dataAbertura") LocalDateTime dataAbertura,
+                                               @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE o.responsavel.id = :responsavelId " +
+           "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarPrimeiraPaginaPorResponsavel(@Param("responsavelId") Long responsavelId, Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE o.responsavel.id = :responsavelId " +
+           "AND " + APOS_CURSOR +
+           "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarAposCursorPorResponsavel(@Param("responsavelId") Long responsavelId,
+                                                             @Param("dataAbertura") LocalDateTime dataAbertura,
+                                                             @Param("id") Long id, Pageable pageable);
     
+    @Query(SELECT_RESUMO + "WHERE o.cliente.id = :clienteId " +
+           "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarPrimeiraPaginaPorCliente(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE o.cliente.id = :clienteId " +
+           "AND " + APOS_CURSOR +
+           "ORDER BY o.dataAbertura DESC, o.id DESC")
+    Slice<OrdemServicoResumo> buscarAposCursorPorCliente(@Param("clienteId") Long clienteId,
+                                                         @Param("dataAbertura") LocalDateTime dataAbertura,
+                                                         @Param("id") Long id, Pageable pageable);
+
+    // Vínculo com o cadastro de clientes, pelos dígitos do documento
+    @Query(value = "SELECT id FROM ordem_servico WHERE documento_cliente_normalizado IS NULL " +
+                   "AND id > :ultimoId ORDER BY id LIMIT :lote", nativeQuery = true)
+    List<Long> listarIdsSemDocumentoNormalizado(@Param("ultimoId") Long ultimoId, @Param("lote") int lote);
+
+    // documento_normalizado é único e nunca vazio, então a subconsulta acha no máximo um cliente
+    @Modifying
+    @Query(value = "UPDATE ordem_servico o SET " +
+                   "documento_cliente_normalizado = COALESCE(regexp_replace(o.documento_cliente, '[^0-9]', '', 'g'), ''), " +
+                   "cliente_id = COALESCE(o.cliente_id, (SELECT c.id FROM clientes c " +
+                   "WHERE c.documento_normalizado = regexp_replace(o.documento_cliente, '[^0-9]', '', 'g'))) " +
+                   "WHERE o.id IN (:ids)", nativeQuery = true)
+    int normalizarEVincular(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE ordem_servico SET cliente_id = :clienteId WHERE cliente_id IS NULL " +
+                   "AND documento_cliente_normalizado = :documento", nativeQuery = true)
+    int vincularAoCliente(@Param("clienteId") Long clienteId, @Param("documento") String documento);
+
+    @Modifying
+    @Query("UPDATE OrdemServico o SET o.cliente = NULL WHERE o.cliente.id = :clienteId")
+    int desvincularCliente(@Param("clienteId") Long clienteId);
+
+    @EntityGraph(OrdemServico.GRAFO_DETALHE)
     @Query("SELECT o FROM OrdemServico o WHERE o.dataAbertura BETWEEN :inicio AND :fim")
     List<OrdemServico> findByPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = "responsavel")
+    @Query("SELECT o FROM OrdemServico o WHERE o.dataAbertura BETWEEN :inicio AND :fim ORDER BY o.dataAbertura, o.id")
+    Stream<OrdemServico> streamByPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    // documento já normalizado (só dígitos): as OS gravadas com e sem máscara são do mesmo cliente
+    @Query(SELECT_RESUMO + "WHERE o.documentoClienteNormalizado = :documento AND o.dataAbertura BETWEEN :inicio AND :fim " +
+           "ORDER BY o.dataAbertura, o.id")
+    Stream<OrdemServicoResumo> streamResumosPorDocumentoCliente(@Param("documento") String documento,
+                                                                 @Param("inicio") LocalDateTime inicio,
+                                                                 @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT o.id FROM OrdemServico o WHERE o.dataAbertura BETWEEN :inicio AND :fim " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND (:responsavelId IS NULL OR o.responsavel.id = :responsavelId) " +
+           "ORDER BY o.dataAbertura, o.id")
+    List<Long> listarIdsPorFiltro(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                  @Param("status") OrdemServico.StatusOrdemServico status,
+                                  @Param("responsavelId") Long responsavelId);
+
     @Query("SELECT o FROM OrdemServico o WHERE o.status = 'CONCLUIDA' AND o.dataFechamento BETWEEN :inicio AND :fim")
     List<OrdemServico> findConcluidasByPeriodo(LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("SELECT new com.sistemaos.domain.projection.ContagemStatus(o.status, COUNT(o)) " +
+           "FROM OrdemServico o GROUP BY o.status")
+    List<ContagemStatus> contarPorStatus();
+
+    @Query("SELECT new com.sistemaos.domain.projection.ResumoStatus(o.status, COUNT(o), SUM(o.valorTotal), AVG(o.valorTotal)) " +
+           "FROM OrdemServico o GROUP BY o.status")
+    List<ResumoStatus> resumirPorStatus();
+
+    @Query("SELECT new com.sistemaos.domain.projection.ResumoStatus(o.status, COUNT(o), SUM(o.valorTotal), AVG(o.valorTotal)) " +
+           "FROM OrdemServico o WHERE o.dataAbertura BETWEEN :inicio AND :fim GROUP BY o.status")
+    List<ResumoStatus> resumirPorStatusNoPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.sistemaos.domain.projection.ResumoResponsavel(r.id, r.nome, COUNT(o), SUM(o.valorTotal), AVG(o.valorTotal)) " +
+           "FROM OrdemServico o JOIN o.responsavel r WHERE o.dataAbertura BETWEEN :inicio AND :fim GROUP BY r.id, r.nome")
+    List<ResumoResponsavel> resumirPorResponsavelNoPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.sistemaos.domain.projection.ResumoPeriodo(COUNT(o), SUM(o.valorTotal), AVG(o.valorTotal)) " +
+           "FROM OrdemServico o WHERE o.dataAbertura BETWEEN :inicio AND :fim")
+    ResumoPeriodo resumirPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 } 
\ No newline at end of file
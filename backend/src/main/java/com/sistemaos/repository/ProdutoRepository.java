@@ -1,7 +1,20 @@
 package com.sistemaos.repository;
 
+import com.sistemaos.domain.dto.ProdutoDTO;
 import com.sistemaos.domain.entity.Produto;
+import com.sistemaos.domain.projection.PrecoProduto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+    long countByQuantidadeEstoqueLessThan(Integer quantidade);
+
+    @Query("SELECT new com.sistemaos.domain.dto.ProdutoDTO(p.id, p.nome, p.descricao, p.preco, p.quantidadeEstoque, " +
+           "p.unidadeMedida, p.categoria, p.dataCadastro, p.dataAtualizacao) FROM Produto p ORDER BY p.nome")
+    List<ProdutoDTO> listarDTOs();
+
+    @Query("SELECT new com.sistemaos.domain.projection.PrecoProduto(p.id, p.preco) FROM Produto p")
+    List<PrecoProduto> listarPrecos();
 } 
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.sistemaos.repository;
 
+import com.sistemaos.domain.dto.ServicoDTO;
 import com.sistemaos.domain.entity.Servico;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServicoRepository extends JpaRepository<Servico, Long> {
+
+    @Query("SELECT new com.sistemaos.domain.dto.ServicoDTO(s.id, s.nome, s.descricao, s.valor, s.tempoEstimado) " +
+           "FROM Servico s ORDER BY s.nome")
+    List<ServicoDTO> listarDTOs();
 } 
\ No newline at end of file
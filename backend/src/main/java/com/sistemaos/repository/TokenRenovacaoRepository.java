@@ -0,0 +1,44 @@
+package com.sistemaos.repository;
+
+import com.sistemaos.domain.entity.TokenRenovacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TokenRenovacaoRepository extends JpaRepository<TokenRenovacao, Long> {
+
+    // Carrega o usuário junto: o novo access token precisa do tipo e da versão atuais
+    @Query("SELECT t FROM TokenRenovacao t JOIN FETCH t.usuario WHERE t.hash = :hash")
+    Optional<TokenRenovacao> buscarPorHash(@Param("hash") String hash);
+
+    // Revogação condicional: entre renovações concorrentes do mesmo token, só uma altera a linha
+    @Modifying
+    @Query("UPDATE TokenRenovacao t SET t.revogado = true, t.motivoRevogacao = :motivo " +
+           "WHERE t.id = :id AND t.revogado = false")
+    int revogarSeAtivo(@Param("id") Long id, @Param("motivo") TokenRenovacao.MotivoRevogacao motivo);
+
+    // Lido do banco, não do contexto de persistência: quem perdeu a corrida vê o motivo do vencedor
+    @Query("SELECT t.motivoRevogacao FROM TokenRenovacao t WHERE t.id = :id")
+    Optional<TokenRenovacao.MotivoRevogacao> buscarMotivoRevogacao(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TokenRenovacao t SET t.revogado = true, t.motivoRevogacao = :motivo " +
+           "WHERE t.usuario.id = :usuarioId AND t.revogado = false")
+    int revogarDoUsuario(@Param("usuarioId") Long usuarioId, @Param("motivo") TokenRenovacao.MotivoRevogacao motivo);
+
+    @Modifying
+    @Query("DELETE FROM TokenRenovacao t WHERE t.usuario.id = :usuarioId")
+    int removerDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRenovacao t WHERE t.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
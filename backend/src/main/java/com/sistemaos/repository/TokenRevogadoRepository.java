@@ -0,0 +1,30 @@
+package com.sistemaos.repository;
+
+import com.sistemaos.domain.entity.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, Long> {
+
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime agora);
+
+    // Logout repetido com o mesmo token (nova tentativa, duas abas) não viola o jti único
+    @Modifying
+    @Query(value = "INSERT INTO tokens_revogados (id, jti, expira_em) " +
+                   "VALUES (nextval('tokens_revogados_seq'), :jti, :expiraEm) " +
+                   "ON CONFLICT (jti) DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(@Param("jti") String jti, @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
@@ -1,13 +1,40 @@
 package com.sistemaos.repository;
 
 import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.domain.projection.UsuarioResumo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Só os campos da listagem
+    @Query("SELECT new com.sistemaos.domain.projection.UsuarioResumo(u.id, u.nome, u.email, u.tipo, u.telefone) " +
+           "FROM Usuario u ORDER BY u.nome")
+    List<UsuarioResumo> listarResumos();
+
+    @Query("SELECT new com.sistemaos.domain.projection.UsuarioResumo(u.id, u.nome, u.email, u.tipo, u.telefone) " +
+           "FROM Usuario u WHERE u.email = :email")
+    Optional<UsuarioResumo> buscarResumoPorEmail(@Param("email") String email);
+
+    @Query("SELECT u.versaoToken FROM Usuario u WHERE u.id = :id")
+    Optional<Long> buscarVersaoToken(@Param("id") Long id);
+
+    // Só a senha, sem carregar nem regravar o resto do usuário
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+
+    @Query("SELECT u.id FROM Usuario u")
+    List<Long> listarIds();
 } 
\ No newline at end of file
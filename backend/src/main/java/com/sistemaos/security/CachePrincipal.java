@@ -0,0 +1,100 @@
+package com.sistemaos.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Cache dos usuários autenticados por email, com expiração e tamanho máximo,
+ * para que o filtro JWT não consulte o banco a cada requisição.
+ *
+ * Com {@code jwt.claims-autocontidas: true} (padrão) o filtro monta o usuário
+ * a partir do token e só passa por aqui com tokens emitidos antes das claims
+ * autocontidas; o cache serve a configuração {@code false}. A entrada menos
+ * usada recentemente é descartada quando o cache enche.
+ */
+@Component
+public class CachePrincipal {
+
+    private final long ttlMillis;
+    private final int tamanhoMaximo;
+
+    // Ordem de acesso, protegida pelo lock do cache: a primeira entrada é a menos usada recentemente
+    private final LinkedHashMap<String, Entrada> entradas;
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+
+    public CachePrincipal(@Value("${seguranca.cache-principal.ttl-ms:60000}") long ttlMillis,
+                          @Value("${seguranca.cache-principal.tamanho-maximo:1000}") int tamanhoMaximo) {
+        this.ttlMillis = ttlMillis;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > tamanhoMaximo;
+            }
+        };
+    }
+
+    public UsuarioPrincipal obter(String email, Function<String, UsuarioPrincipal> carregar) {
+        long agora = System.currentTimeMillis();
+        synchronized (this) {
+            Entrada entrada = entradas.get(email);
+            if (entrada != null && entrada.expiraEm() > agora) {
+                acertos.incrementAndGet();
+                return entrada.principal();
+            }
+        }
+
+        // Carregado fora do lock, para uma consulta ao banco não bloquear as demais requisições
+        falhas.incrementAndGet();
+        UsuarioPrincipal principal = carregar.apply(email);
+        synchronized (this) {
+            entradas.put(email, new Entrada(principal, agora + ttlMillis));
+        }
+        return principal;
+    }
+
+    /**
+     * Remove o usuário do cache. Dentro de uma transação, remove de novo após
+     * o commit, já que uma requisição concorrente pode ter recarregado os
+     * dados antigos nesse meio tempo.
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        remover(email);
+        aposCommit(() -> remover(email));
+    }
+
+    public Map<String, Object> estatisticas() {
+        long totalAcertos = acertos.get();
+        long totalFalhas = falhas.get();
+        long total = totalAcertos + totalFalhas;
+
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("tamanho", tamanho());
+        estatisticas.put("acertos", totalAcertos);
+        estatisticas.put("falhas", totalFalhas);
+        estatisticas.put("taxaAcerto", total > 0 ? (double) totalAcertos / total : 0.0);
+        return estatisticas;
+    }
+
+    private synchronized void remover(String email) {
+        entradas.remove(email);
+    }
+
+    private synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    private record Entrada(UsuarioPrincipal principal, long expiraEm) {
+    }
+}
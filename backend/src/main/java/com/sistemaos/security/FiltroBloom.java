@@ -0,0 +1,62 @@
+package com.sistemaos.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamanho fixo para strings. {@link #talvezContenha}
+ * nunca dá falso negativo; falsos positivos precisam ser confirmados em um
+ * conjunto exato. Leitura e inclusão são seguras entre threads sem lock.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int quantidadeBits;
+    private final int quantidadeHashes;
+
+    /**
+     * Dimensiona o filtro para {@code capacidade} elementos com cerca de 1%
+     * de falsos positivos (10 bits e 7 hashes por elemento).
+     */
+    FiltroBloom(int capacidade) {
+        this.quantidadeBits = Math.max(64, capacidade * 10);
+        this.quantidadeHashes = 7;
+        this.bits = new AtomicLongArray((quantidadeBits + 63) / 64);
+    }
+
+    void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            long mascara = 1L << (bit & 63);
+            bits.getAndAccumulate(bit >>> 6, mascara, (atual, m) -> atual | m);
+        }
+    }
+
+    boolean talvezContenha(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits com mistura final, suficiente para jti aleatórios
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sistemaos.security;
 
+import com.sistemaos.service.CustomUserDetailsService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,11 +19,19 @@ import java.io.IOException;
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final VersaoTokenUsuario versaoTokenUsuario;
+    private final RevogacaoTokens revogacaoTokens;
+    private final boolean claimsAutocontidas;
 
-    public JwtAuthorizationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthorizationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                                  VersaoTokenUsuario versaoTokenUsuario, RevogacaoTokens revogacaoTokens,
+                                  boolean claimsAutocontidas) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.versaoTokenUsuario = versaoTokenUsuario;
+        this.revogacaoTokens = revogacaoTokens;
+        this.claimsAutocontidas = claimsAutocontidas;
     }
 
     @Override
@@ -30,33 +39,48 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
-        log.info("Authorization Header: {}", authorizationHeader);
 
-        String username = null;
-        String jwt = null;
+        TokenValidado token = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-            log.info("Username extraído do token: {}", username);
-        } else {
-            log.warn("Token não encontrado ou formato inválido");
+            try {
+                token = jwtUtil.validar(authorizationHeader.substring(7));
+                log.debug("Username extraído do token: {}", token.email());
+                if (token.jti() != null && revogacaoTokens.revogado(token.jti())) {
+                    log.warn("Token revogado (logout) para o usuário: {}", token.email());
+                    token = null;
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Token inválido: {}", e.getMessage());
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            log.info("Authorities do usuário: {}", userDetails.getAuthorities());
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = carregarUsuario(token);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.info("Autenticação configurada com sucesso");
-            } else {
-                log.warn("Token inválido para o usuário: {}", username);
+                log.debug("Autenticação configurada para {}", token.email());
             }
         }
         chain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Com claims autocontidas, o usuário é montado direto do token e só a
+     * versão do token é conferida (em memória). Sem elas, ou para tokens
+     * antigos, o usuário vem do cache/banco.
+     */
+    private UserDetails carregarUsuario(TokenValidado token) {
+        if (claimsAutocontidas && token.autocontido()) {
+            if (!versaoTokenUsuario.valida(token.usuarioId(), token.versao())) {
+                log.warn("Token revogado para o usuário: {}", token.email());
+                return null;
+            }
+            return new UsuarioPrincipal(token.usuarioId(), token.email(), token.tipo());
+        }
+        return userDetailsService.carregarPrincipal(token.email());
+    }
+}
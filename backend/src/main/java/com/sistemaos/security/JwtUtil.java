@@ -1,76 +1,125 @@
 package com.sistemaos.security;
 
+import com.sistemaos.domain.entity.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    private static final String CLAIM_ID = "uid";
+    private static final String CLAIM_TIPO = "tipo";
+    private static final String CLAIM_VERSAO = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    // Tokens verificados recentemente, pelo hash do token (0 desativa)
+    @Value("${jwt.cache-tokens.tamanho-maximo:1000}")
+    private int tamanhoCacheTokens;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Chave e parser são imutáveis e thread-safe, então são criados uma vez
+    private Key signingKey;
+    private JwtParser parser;
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    private final Map<String, TokenValidado> tokensVerificados = new ConcurrentHashMap<>();
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    @PostConstruct
+    void inicializar() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+    /**
+     * Verifica assinatura e expiração do token uma única vez e retorna os
+     * dados já validados.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public TokenValidado validar(String token) {
+        String chave = tamanhoCacheTokens > 0 ? hash(token) : null;
+        if (chave != null) {
+            TokenValidado emCache = tokensVerificados.get(chave);
+            if (emCache != null) {
+                if (!emCache.expirado()) {
+                    return emCache;
+                }
+                tokensVerificados.remove(chave);
+            }
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String tipo = claims.get(CLAIM_TIPO, String.class);
+        TokenValidado validado = new TokenValidado(claims.getSubject(), claims.getExpiration().toInstant(),
+                claims.get(CLAIM_ID, Long.class),
+                tipo != null ? Usuario.TipoUsuario.valueOf(tipo) : null,
+                claims.get(CLAIM_VERSAO, Long.class),
+                claims.getId());
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        if (chave != null) {
+            if (tokensVerificados.size() >= tamanhoCacheTokens) {
+                tokensVerificados.values().removeIf(TokenValidado::expirado);
+                if (tokensVerificados.size() >= tamanhoCacheTokens) {
+                    tokensVerificados.clear();
+                }
+            }
+            tokensVerificados.put(chave, validado);
+        }
+        return validado;
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * O token leva id, tipo e versão do usuário, para que a autorização não
+     * precise consultar o banco.
+     */
+    public String generateToken(Usuario usuario) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_ID, usuario.getId());
+        claims.put(CLAIM_TIPO, usuario.getTipo().name());
+        claims.put(CLAIM_VERSAO, usuario.getVersaoToken());
+        return createToken(claims, usuario.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.sistemaos.security;
+
+import com.sistemaos.domain.entity.TokenRevogado;
+import com.sistemaos.repository.TokenRevogadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Access tokens revogados antes de expirar, consultados a cada requisição
+ * sem acesso ao banco.
+ *
+ * As revogações são gravadas na tabela {@code tokens_revogados}; cada nó
+ * mantém em memória um filtro de Bloom e o conjunto exato dos {@code jti}
+ * ainda não expirados. Quase todo token responde "não revogado" já no filtro;
+ * só os positivos consultam o conjunto. Revogações feitas neste nó valem
+ * logo após o commit; as de outros nós, após a próxima sincronização.
+ */
+@Slf4j
+@Component
+public class RevogacaoTokens {
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final int capacidade;
+
+    // jti -> expiração do token; entradas expiradas saem na sincronização
+    private volatile Map<String, LocalDateTime> revogados = new ConcurrentHashMap<>();
+    private volatile FiltroBloom filtro;
+
+    public RevogacaoTokens(TokenRevogadoRepository tokenRevogadoRepository,
+                           @Value("${seguranca.revogacao.capacidade-filtro:10000}") int capacidade) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.capacidade = capacidade;
+        this.filtro = new FiltroBloom(capacidade);
+    }
+
+    public boolean revogado(String jti) {
+        return filtro.talvezContenha(jti) && revogados.containsKey(jti);
+    }
+
+    /**
+     * Grava a revogação e a aplica neste nó depois do commit. Revogar de novo
+     * o mesmo token não tem efeito.
+     */
+    public void revogar(String jti, LocalDateTime expiraEm) {
+        if (!expiraEm.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        tokenRevogadoRepository.inserirSeAusente(jti, expiraEm);
+        aposCommit(() -> incluir(jti, expiraEm));
+    }
+
+    public void revogar(TokenValidado token) {
+        if (token.jti() != null) {
+            revogar(token.jti(), LocalDateTime.ofInstant(token.expiraEm(), ZoneId.systemDefault()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarInicial() {
+        sincronizar();
+    }
+
+    /**
+     * Traz as revogações feitas pelos outros nós e reconstrói o filtro sem as
+     * entradas já expiradas (um filtro de Bloom não permite remoção).
+     */
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.sincronizacao-ms:10000}",
+               initialDelayString = "${seguranca.revogacao.sincronizacao-ms:10000}")
+    public void sincronizar() {
+        LocalDateTime agora = LocalDateTime.now();
+        Map<String, LocalDateTime> atualizados = new ConcurrentHashMap<>();
+        for (TokenRevogado token : tokenRevogadoRepository.findByExpiraEmAfter(agora)) {
+            atualizados.put(token.getJti(), token.getExpiraEm());
+        }
+
+        synchronized (this) {
+            // Revogações locais que o banco ainda não mostrava quando a consulta rodou
+            revogados.forEach((jti, expiraEm) -> {
+                if (expiraEm.isAfter(agora)) {
+                    atualizados.putIfAbsent(jti, expiraEm);
+                }
+            });
+            FiltroBloom novoFiltro = new FiltroBloom(Math.max(capacidade, atualizados.size()));
+            atualizados.keySet().forEach(novoFiltro::adicionar);
+            revogados = atualizados;
+            filtro = novoFiltro;
+        }
+        log.debug("Revogações sincronizadas: {} tokens revogados ativos", atualizados.size());
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.limpeza-ms:3600000}",
+               initialDelayString = "${seguranca.revogacao.limpeza-ms:3600000}")
+    public void removerExpirados() {
+        int removidos = tokenRevogadoRepository.removerExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} revogações de tokens expirados removidas", removidos);
+        }
+    }
+
+    private synchronized void incluir(String jti, LocalDateTime expiraEm) {
+        // Conjunto antes do filtro: um positivo do filtro sempre encontra o jti
+        revogados.put(jti, expiraEm);
+        filtro.adicionar(jti);
+    }
+}
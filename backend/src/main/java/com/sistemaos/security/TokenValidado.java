@@ -0,0 +1,22 @@
+package com.sistemaos.security;
+
+import com.sistemaos.domain.entity.Usuario;
+
+import java.time.Instant;
+
+/**
+ * Dados de um JWT cuja assinatura e expiração já foram verificadas.
+ * Tokens emitidos antes das claims de usuário têm {@code usuarioId} nulo,
+ * e os emitidos antes da revogação por logout não têm {@code jti}.
+ */
+public record TokenValidado(String email, Instant expiraEm, Long usuarioId, Usuario.TipoUsuario tipo, Long versao,
+                            String jti) {
+
+    public boolean autocontido() {
+        return usuarioId != null && tipo != null && versao != null;
+    }
+
+    public boolean expirado() {
+        return !Instant.now().isBefore(expiraEm);
+    }
+}
@@ -0,0 +1,62 @@
+package com.sistemaos.security;
+
+import com.sistemaos.domain.entity.Usuario;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usuário autenticado por token. Só carrega o necessário para autorização
+ * (sem senha nem avatar), então pode ficar em cache ou ser montado direto
+ * das claims do token.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UsuarioPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Usuario.TipoUsuario tipo;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + tipo.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
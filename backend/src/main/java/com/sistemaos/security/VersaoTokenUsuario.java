@@ -0,0 +1,66 @@
+package com.sistemaos.security;
+
+import com.sistemaos.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Tabela em memória com a versão atual de token de cada usuário.
+ *
+ * Um token só é aceito se a versão nele for a atual; incrementar a versão
+ * do usuário revoga todos os tokens já emitidos. Cada entrada é revalidada
+ * no banco depois de {@code ttl-ms}, que é o atraso máximo para uma revogação
+ * feita em outro nó ser percebida aqui.
+ */
+@Slf4j
+@Component
+public class VersaoTokenUsuario {
+
+    // Usuário inexistente: nenhum token é aceito
+    private static final long REVOGADO = -1L;
+
+    private final UsuarioRepository usuarioRepository;
+    private final long ttlMillis;
+    private final int tamanhoMaximo;
+
+    private final Map<Long, Entrada> versoes = new ConcurrentHashMap<>();
+
+    public VersaoTokenUsuario(UsuarioRepository usuarioRepository,
+                              @Value("${seguranca.versao-token.ttl-ms:30000}") long ttlMillis,
+                              @Value("${seguranca.versao-token.tamanho-maximo:10000}") int tamanhoMaximo) {
+        this.usuarioRepository = usuarioRepository;
+        this.ttlMillis = ttlMillis;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public boolean valida(Long usuarioId, long versaoToken) {
+        long agora = System.currentTimeMillis();
+        Entrada entrada = versoes.get(usuarioId);
+        if (entrada == null || entrada.verificadaEm() + ttlMillis <= agora) {
+            long versao = usuarioRepository.buscarVersaoToken(usuarioId).orElse(REVOGADO);
+            if (versoes.size() >= tamanhoMaximo) {
+                versoes.clear();
+            }
+            entrada = new Entrada(versao, agora);
+            versoes.put(usuarioId, entrada);
+        }
+        return entrada.versao() != REVOGADO && entrada.versao() == versaoToken;
+    }
+
+    /**
+     * Descarta a versão conhecida do usuário após o commit, para que a próxima
+     * requisição leia a versão nova (ou a remoção) do banco.
+     */
+    public void invalidar(Long usuarioId) {
+        aposCommit(() -> versoes.remove(usuarioId));
+    }
+
+    private record Entrada(long versao, long verificadaEm) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.sistemaos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Guarda os PDFs de OS já gerados em um diretório local. Cada arquivo é
+ * identificado pela OS e pela versão do conteúdo, então um arquivo nunca
+ * fica desatualizado: uma OS alterada simplesmente procura outro arquivo.
+ *
+ * O diretório é limitado em bytes: a limpeza periódica apaga os arquivos
+ * gravados há mais tempo até caber no limite. Um PDF apagado é renderizado
+ * de novo no próximo download.
+ */
+@Slf4j
+@Component
+public class ArmazenamentoPdf {
+
+    private final Path diretorio;
+    private final long limiteBytes;
+
+    public ArmazenamentoPdf(@Value("${pdf.armazenamento.diretorio:${java.io.tmpdir}/sistemaos/pdf}") String diretorio,
+                            @Value("${pdf.armazenamento.max-bytes:1073741824}") long limiteBytes) {
+        this.diretorio = Paths.get(diretorio);
+        this.limiteBytes = limiteBytes;
+        try {
+            Files.createDirectories(this.diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de PDFs: " + diretorio, e);
+        }
+    }
+
+    public Path caminho(Long ordemServicoId, String versao) {
+        return diretorio.resolve(prefixo(ordemServicoId) + versao + ".pdf");
+    }
+
+    public Optional<Path> localizar(Long ordemServicoId, String versao) {
+        Path arquivo = caminho(ordemServicoId, versao);
+        return Files.exists(arquivo) ? Optional.of(arquivo) : Optional.empty();
+    }
+
+    /**
+     * Grava o PDF em um arquivo temporário, copiando os mesmos bytes para
+     * {@code copia} enquanto são escritos, e só então move para o destino,
+     * para que um download nunca leia um PDF pela metade.
+     */
+    public void salvar(Long ordemServicoId, String versao, ConteudoPdf conteudo, OutputStream copia) throws IOException {
+        Path temporario = Files.createTempFile(diretorio, prefixo(ordemServicoId), ".tmp");
+        try {
+            try (OutputStream arquivo = new BufferedOutputStream(Files.newOutputStream(temporario))) {
+                conteudo.escrever(new SaidaDupla(arquivo, copia));
+            }
+            Files.move(temporario, caminho(ordemServicoId, versao),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Remove todas as versões guardadas da OS.
+     */
+    public void remover(Long ordemServicoId) throws IOException {
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, prefixo(ordemServicoId) + "*.pdf")) {
+            for (Path arquivo : arquivos) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pdf.armazenamento.limpeza-ms:600000}",
+               initialDelayString = "${pdf.armazenamento.limpeza-ms:600000}")
+    public void limitarTamanho() {
+        List<ArquivoPdf> arquivos = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(diretorio, "*.pdf")) {
+            for (Path arquivo : lista) {
+                try {
+                    ArquivoPdf pdf = new ArquivoPdf(arquivo, Files.size(arquivo), Files.getLastModifiedTime(arquivo));
+                    arquivos.add(pdf);
+                    total += pdf.tamanho();
+                } catch (IOException e) {
+                    // Removido entre a listagem e a leitura dos atributos
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível listar o diretório de PDFs: {}", e.getMessage());
+            return;
+        }
+        if (total <= limiteBytes) {
+            return;
+        }
+
+        arquivos.sort(Comparator.comparing(ArquivoPdf::gravadoEm));
+        long antes = total;
+        int removidos = 0;
+        for (ArquivoPdf pdf : arquivos) {
+            if (total <= limiteBytes) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(pdf.caminho());
+                total -= pdf.tamanho();
+                removidos++;
+            } catch (IOException e) {
+                log.warn("Não foi possível remover {}: {}", pdf.caminho(), e.getMessage());
+            }
+        }
+        log.info("Armazenamento de PDFs limitado: {} arquivos removidos, {} -> {} bytes", removidos, antes, total);
+    }
+
+    private record ArquivoPdf(Path caminho, long tamanho, FileTime gravadoEm) {
+    }
+
+    private static final class SaidaDupla extends OutputStream {
+
+        private final OutputStream primaria;
+        private final OutputStream copia;
+
+        SaidaDupla(OutputStream primaria, OutputStream copia) {
+            this.primaria = primaria;
+            this.copia = copia;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            primaria.write(b);
+            copia.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            primaria.write(b, off, len);
+            copia.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            primaria.flush();
+            copia.flush();
+        }
+    }
+
+    private static String prefixo(Long ordemServicoId) {
+        return "ordem-servico-" + ordemServicoId + "-";
+    }
+}
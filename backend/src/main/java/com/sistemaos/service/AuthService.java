@@ -4,82 +4,89 @@ import com.sistemaos.domain.dto.LoginDTO;
 import com.sistemaos.domain.dto.TokenDTO;
 import com.sistemaos.domain.entity.Usuario;
 import com.sistemaos.repository.UsuarioRepository;
-import com.sistemaos.security.JwtUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Login com uma única busca do usuário e uma única verificação BCrypt.
+ *
+ * A verificação roda em um pool próprio e limitado, fora das threads do
+ * Tomcat. Com a fila cheia o login é recusado na hora
+ * ({@link java.util.concurrent.RejectedExecutionException}) em vez de
+ * acumular requisições esperando CPU.
+ */
 @Slf4j
 @Service
 public class AuthService {
 
-    private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
+    private final TokenRenovacaoService tokenRenovacaoService;
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    // Comparado quando o email não existe, para o tempo de resposta não revelar quais emails existem
+    private final String hashFicticio;
 
-    public AuthService(JwtUtil jwtUtil, AuthenticationManager authenticationManager, 
-                      UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder) {
-        this.jwtUtil = jwtUtil;
-        this.authenticationManager = authenticationManager;
+    public AuthService(TokenRenovacaoService tokenRenovacaoService, UsuarioRepository usuarioRepository,
+                       PasswordEncoder passwordEncoder,
+                       @Value("${seguranca.login.threads:4}") int threads,
+                       @Value("${seguranca.login.fila:100}") int tamanhoFila) {
+        this.tokenRenovacaoService = tokenRenovacaoService;
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.hashFicticio = passwordEncoder.encode("senha-ficticia");
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "login-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
-    public TokenDTO autenticar(LoginDTO loginDTO) {
-        log.info("Iniciando processo de autenticação para o email: {}", loginDTO.getEmail());
-        
-        try {
-            // Verifica se o usuário existe
-            Usuario usuarioExistente = usuarioRepository.findByEmail(loginDTO.getEmail())
-                .orElseThrow(() -> {
-                    log.error("Usuário não encontrado para o email: {}", loginDTO.getEmail());
-                    return new UsernameNotFoundException("Usuário não encontrado");
-                });
-            
-            log.info("Usuário encontrado, verificando senha...");
-            
-            // Verifica a senha manualmente primeiro para debug
-            boolean senhaCorreta = passwordEncoder.matches(loginDTO.getSenha(), usuarioExistente.getSenha());
-            log.info("Senha está correta? {}", senhaCorreta);
-            
-            try {
-                // Tenta autenticar
-                Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginDTO.getEmail(), loginDTO.getSenha())
-                );
-                
-                log.info("Autenticação bem-sucedida para o email: {}", loginDTO.getEmail());
+    /**
+     * Agenda a autenticação no pool de login. Lança
+     * {@link java.util.concurrent.RejectedExecutionException} se a fila estiver cheia.
+     */
+    public CompletableFuture<TokenDTO> autenticar(LoginDTO loginDTO) {
+        return CompletableFuture.supplyAsync(() -> verificar(loginDTO), executor);
+    }
 
-                Usuario usuario = (Usuario) authentication.getPrincipal();
-                String token = jwtUtil.generateToken(usuario);
-                
-                log.info("Token gerado com sucesso para o usuário: {}", usuario.getEmail());
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private TokenDTO verificar(LoginDTO loginDTO) {
+        log.debug("Iniciando processo de autenticação para o email: {}", loginDTO.getEmail());
 
-                return TokenDTO.builder()
-                    .token(token)
-                    .tipo("Bearer")
-                    .nome(usuario.getNome())
-                    .email(usuario.getEmail())
-                    .tipoUsuario(usuario.getTipo())
-                    .id(usuario.getId())
-                    .avatar(usuario.getAvatar())
-                    .build();
-            } catch (BadCredentialsException e) {
-                log.error("Falha na autenticação para o email: {}. Senha incorreta.", loginDTO.getEmail());
-                throw new BadCredentialsException("Email ou senha incorretos");
-            }
-        } catch (UsernameNotFoundException e) {
-            log.error("Usuário não encontrado: {}", loginDTO.getEmail());
+        Optional<Usuario> encontrado = usuarioRepository.findByEmail(loginDTO.getEmail());
+        String hash = encontrado.map(Usuario::getSenha).orElse(hashFicticio);
+        if (!passwordEncoder.matches(loginDTO.getSenha(), hash) || encontrado.isEmpty()) {
+            log.warn("Falha na autenticação para o email: {}", loginDTO.getEmail());
             throw new BadCredentialsException("Email ou senha incorretos");
-        } catch (Exception e) {
-            log.error("Erro durante a autenticação para o email: {}. Erro: {}", loginDTO.getEmail(), e.getMessage());
-            throw new RuntimeException("Erro durante a autenticação: " + e.getMessage());
         }
+
+        Usuario usuario = encontrado.get();
+        if (passwordEncoder.upgradeEncoding(usuario.getSenha())) {
+            // A senha em texto só existe aqui, então este é o momento de refazer o hash com o custo atual
+            usuarioRepository.atualizarSenha(usuario.getId(), passwordEncoder.encode(loginDTO.getSenha()));
+            log.info("Hash da senha do usuário {} atualizado para o custo atual", usuario.getEmail());
+        }
+
+        TokenDTO tokens = tokenRenovacaoService.emitir(usuario);
+        log.info("Autenticação bem-sucedida para o email: {}", usuario.getEmail());
+        return tokens;
     }
-} 
\ No newline at end of file
+}
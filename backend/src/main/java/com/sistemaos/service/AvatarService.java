@@ -0,0 +1,204 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.entity.AvatarUsuario;
+import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.repository.AvatarUsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Avatares dos usuários, guardados em {@code avatares_usuario} como JPEG já
+ * redimensionado, junto com uma miniatura. O usuário guarda só a versão
+ * (hash do conteúdo), que entra na URL: uma URL nunca muda de conteúdo,
+ * então o navegador pode mantê-la em cache indefinidamente.
+ */
+@Slf4j
+@Service
+public class AvatarService {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    private static final String PREFIXO_URL = "/api/avatares/";
+
+    private final AvatarUsuarioRepository avatarUsuarioRepository;
+    private final int tamanhoMaximoBytes;
+    private final int dimensaoMaxima;
+    private final int dimensaoMiniatura;
+    private final long pixelsMaximos;
+
+    public AvatarService(AvatarUsuarioRepository avatarUsuarioRepository,
+                         @Value("${usuario.avatar.tamanho-maximo-bytes:5242880}") int tamanhoMaximoBytes,
+                         @Value("${usuario.avatar.dimensao-maxima:512}") int dimensaoMaxima,
+                         @Value("${usuario.avatar.dimensao-miniatura:96}") int dimensaoMiniatura,
+                         @Value("${usuario.avatar.pixels-maximos:40000000}") long pixelsMaximos) {
+        this.avatarUsuarioRepository = avatarUsuarioRepository;
+        this.tamanhoMaximoBytes = tamanhoMaximoBytes;
+        this.dimensaoMaxima = dimensaoMaxima;
+        this.dimensaoMiniatura = dimensaoMiniatura;
+        this.pixelsMaximos = pixelsMaximos;
+    }
+
+    /**
+     * URL da miniatura do avatar, ou {@code null} se o usuário não tiver avatar.
+     */
+    public static String url(Long usuarioId, String versao) {
+        return versao != null ? PREFIXO_URL + usuarioId + "/" + versao : null;
+    }
+
+    public Optional<byte[]> buscar(Long usuarioId, String versao, boolean miniatura) {
+        return miniatura
+                ? avatarUsuarioRepository.buscarMiniatura(usuarioId, versao)
+                : avatarUsuarioRepository.buscarImagem(usuarioId, versao);
+    }
+
+    /**
+     * Lê a imagem enviada (limitada a {@code tamanho-maximo-bytes}) e a grava
+     * como avatar do usuário. Deve rodar na transação que salva o usuário.
+     */
+    public void salvar(Usuario usuario, InputStream entrada) throws IOException {
+        byte[] dados = entrada.readNBytes(tamanhoMaximoBytes + 1);
+        if (dados.length > tamanhoMaximoBytes) {
+            throw new IllegalArgumentException("Imagem maior que o limite de " + tamanhoMaximoBytes + " bytes");
+        }
+        salvar(usuario, dados);
+    }
+
+    /**
+     * Aceita o avatar em base64, com ou sem o prefixo {@code data:image/...;base64,},
+     * formato usado antes do armazenamento separado.
+     */
+    public void salvarBase64(Usuario usuario, String base64) {
+        int virgula = base64.indexOf(',');
+        String conteudo = base64.startsWith("data:") && virgula > 0 ? base64.substring(virgula + 1) : base64;
+        byte[] dados;
+        try {
+            dados = Base64.getMimeDecoder().decode(conteudo);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Avatar em base64 inválido");
+        }
+        if (dados.length > tamanhoMaximoBytes) {
+            throw new IllegalArgumentException("Imagem maior que o limite de " + tamanhoMaximoBytes + " bytes");
+        }
+        salvar(usuario, dados);
+    }
+
+    public void remover(Usuario usuario) {
+        if (usuario.getAvatarVersao() != null) {
+            avatarUsuarioRepository.deleteById(usuario.getId());
+            usuario.setAvatarVersao(null);
+        }
+    }
+
+    private void salvar(Usuario usuario, byte[] dados) {
+        BufferedImage original = ler(dados);
+        byte[] imagem = jpeg(redimensionar(original, dimensaoMaxima));
+        byte[] miniatura = jpeg(redimensionar(original, dimensaoMiniatura));
+        String versao = versao(imagem);
+
+        avatarUsuarioRepository.save(AvatarUsuario.builder()
+                .usuarioId(usuario.getId())
+                .versao(versao)
+                .imagem(imagem)
+                .miniatura(miniatura)
+                .build());
+        usuario.setAvatarVersao(versao);
+        log.info("Avatar do usuário {} atualizado: {} bytes, miniatura {} bytes",
+                usuario.getId(), imagem.length, miniatura.length);
+    }
+
+    /**
+     * Confere as dimensões pelo cabeçalho antes de decodificar, para que uma
+     * imagem pequena em bytes mas enorme em pixels não esgote a memória.
+     */
+    private BufferedImage ler(byte[] dados) {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(dados))) {
+            Iterator<ImageReader> leitores = entrada != null ? ImageIO.getImageReaders(entrada) : null;
+            if (leitores == null || !leitores.hasNext()) {
+                throw new IllegalArgumentException("Formato de imagem não suportado");
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                if ((long) leitor.getWidth(0) * leitor.getHeight(0) > pixelsMaximos) {
+                    throw new IllegalArgumentException("Imagem com dimensões grandes demais");
+                }
+                return leitor.read(0);
+            } finally {
+                leitor.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Imagem inválida: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reduz (nunca amplia) mantendo a proporção. Reduções grandes são feitas
+     * pela metade a cada passo, o que evita o serrilhado de uma redução direta.
+     * O fundo é branco porque JPEG não tem transparência.
+     */
+    private static BufferedImage redimensionar(BufferedImage original, int dimensao) {
+        double escala = Math.min(1.0, (double) dimensao / Math.max(original.getWidth(), original.getHeight()));
+        int largura = Math.max(1, (int) Math.round(original.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(original.getHeight() * escala));
+
+        BufferedImage atual = original;
+        do {
+            int proximaLargura = Math.max(largura, atual.getWidth() / 2);
+            int proximaAltura = Math.max(altura, atual.getHeight() / 2);
+            atual = desenhar(atual, proximaLargura, proximaAltura);
+        } while (atual.getWidth() > largura || atual.getHeight() > altura);
+        return atual;
+    }
+
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origem, 0, 0, largura, altura, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private static byte[] jpeg(BufferedImage imagem) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(imagem, "jpg", saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static String versao(byte[] imagem) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(imagem);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
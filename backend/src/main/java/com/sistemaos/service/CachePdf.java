@@ -0,0 +1,129 @@
+package com.sistemaos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de PDFs de OS em dois níveis: um LRU em memória, limitado em bytes,
+ * sobre o {@link ArmazenamentoPdf} em disco. A chave é a OS mais a versão do
+ * conteúdo ({@link PDFService#calcularVersao}), então uma OS alterada nunca
+ * recebe um PDF antigo.
+ */
+@Slf4j
+@Component
+public class CachePdf {
+
+    private final ArmazenamentoPdf armazenamentoPdf;
+    private final long limiteMemoria;
+    private final long limiteEntrada;
+
+    // Ordem de acesso: o primeiro elemento é o menos usado recentemente
+    private final LinkedHashMap<ChavePdf, byte[]> memoria = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesEmMemoria;
+
+    public CachePdf(ArmazenamentoPdf armazenamentoPdf,
+                    @Value("${pdf.cache.memoria-max-bytes:33554432}") long limiteMemoria,
+                    @Value("${pdf.cache.memoria-max-bytes-por-pdf:1048576}") long limiteEntrada) {
+        this.armazenamentoPdf = armazenamentoPdf;
+        this.limiteMemoria = limiteMemoria;
+        this.limiteEntrada = Math.min(limiteEntrada, limiteMemoria);
+    }
+
+    /**
+     * Busca o PDF em memória, trazendo-o do disco se for pequeno o bastante
+     * para o nível em memória. PDFs maiores só são servidos via {@link #localizar}.
+     */
+    public Optional<byte[]> buscar(Long ordemServicoId, String versao) {
+        ChavePdf chave = new ChavePdf(ordemServicoId, versao);
+        synchronized (this) {
+            byte[] pdf = memoria.get(chave);
+            if (pdf != null) {
+                return Optional.of(pdf);
+            }
+        }
+
+        Optional<Path> arquivo = armazenamentoPdf.localizar(ordemServicoId, versao);
+        if (arquivo.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            if (Files.size(arquivo.get()) > limiteEntrada) {
+                return Optional.empty();
+            }
+            byte[] pdf = Files.readAllBytes(arquivo.get());
+            guardarEmMemoria(chave, pdf);
+            return Optional.of(pdf);
+        } catch (IOException e) {
+            log.warn("Falha ao ler PDF da OS {} do disco: {}", ordemServicoId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<Path> localizar(Long ordemServicoId, String versao) {
+        return armazenamentoPdf.localizar(ordemServicoId, versao);
+    }
+
+    /**
+     * Indica se a versão já está em memória ou em disco, sem ler o arquivo.
+     */
+    public boolean contem(Long ordemServicoId, String versao) {
+        synchronized (this) {
+            if (memoria.containsKey(new ChavePdf(ordemServicoId, versao))) {
+                return true;
+            }
+        }
+        return armazenamentoPdf.localizar(ordemServicoId, versao).isPresent();
+    }
+
+    /**
+     * Renderiza o PDF para o disco e, ao mesmo tempo, para {@code destino}.
+     */
+    public void gravar(Long ordemServicoId, String versao, ConteudoPdf conteudo, OutputStream destino) throws IOException {
+        armazenamentoPdf.salvar(ordemServicoId, versao, conteudo, destino);
+    }
+
+    /**
+     * Descarta todas as versões da OS, em memória e em disco.
+     */
+    public void remover(Long ordemServicoId) {
+        synchronized (this) {
+            Iterator<Map.Entry<ChavePdf, byte[]>> it = memoria.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<ChavePdf, byte[]> entrada = it.next();
+                if (entrada.getKey().ordemServicoId().equals(ordemServicoId)) {
+                    bytesEmMemoria -= entrada.getValue().length;
+                    it.remove();
+                }
+            }
+        }
+        try {
+            armazenamentoPdf.remover(ordemServicoId);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o PDF da OS {}: {}", ordemServicoId, e.getMessage());
+        }
+    }
+
+    private synchronized void guardarEmMemoria(ChavePdf chave, byte[] pdf) {
+        byte[] anterior = memoria.put(chave, pdf);
+        bytesEmMemoria += pdf.length - (anterior != null ? anterior.length : 0);
+
+        Iterator<byte[]> it = memoria.values().iterator();
+        while (bytesEmMemoria > limiteMemoria && it.hasNext()) {
+            bytesEmMemoria -= it.next().length;
+            it.remove();
+        }
+    }
+
+    private record ChavePdf(Long ordemServicoId, String versao) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.dto.ClienteDTO;
+import com.sistemaos.domain.entity.Cliente;
+
+/**
+ * Posição de continuação da busca de clientes: o último cliente entregue,
+ * identificado por (nome normalizado, id). É trafegada como token opaco.
+ */
+record ClienteCursor(String nomeBusca, Long id) {
+
+    static ClienteCursor de(ClienteDTO cliente) {
+        return new ClienteCursor(Cliente.normalizarNome(cliente.getNome()), cliente.getId());
+    }
+
+    String codificar() {
+        return PaginacaoCursor.codificar(nomeBusca, id);
+    }
+
+    static ClienteCursor decodificar(String token) {
+        return PaginacaoCursor.decodificar(token, ClienteCursor::new);
+    }
+}
@@ -2,25 +2,70 @@ package com.sistemaos.service;
 
 import com.sistemaos.domain.dto.ClienteCreateDTO;
 import com.sistemaos.domain.dto.ClienteDTO;
+import com.sistemaos.domain.dto.PaginaCursorDTO;
 import com.sistemaos.domain.dto.ClienteUpdateDTO;
 import com.sistemaos.domain.entity.Cliente;
 import com.sistemaos.repository.ClienteRepository;
+import com.sistemaos.repository.OrdemServicoRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class ClienteService {
     
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final int LIMITE_MAXIMO_SUGESTOES = 50;
+
     private final ClienteRepository clienteRepository;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final IndiceClientes indiceClientes;
     
     public List<ClienteDTO> findAll() {
-        return clienteRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return clienteRepository.listarDTOs();
+    }
+
+    /**
+     * Busca por prefixo do nome (sem acentos/maiúsculas), do documento ou do
+     * telefone (só dígitos), paginando por cursor em ordem de nome. Cada
+     * filtro usa o índice da coluna normalizada correspondente.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<ClienteDTO> buscar(String nome, String documento, String telefone,
+                                              String cursor, int tamanho) {
+        String prefixoNome = prefixo(escaparLike(Cliente.normalizarNome(nome)));
+        String prefixoDocumento = prefixo(Cliente.somenteDigitos(documento));
+        String prefixoTelefone = prefixo(Cliente.somenteDigitos(telefone));
+        Pageable limite = PageRequest.of(0, Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA)));
+
+        Slice<ClienteDTO> pagina;
+        if (cursor == null || cursor.isBlank()) {
+            pagina = clienteRepository.buscarPrimeiraPagina(prefixoNome, prefixoDocumento, prefixoTelefone, limite);
+        } else {
+            ClienteCursor posicao = ClienteCursor.decodificar(cursor);
+            pagina = clienteRepository.buscarAposCursor(prefixoNome, prefixoDocumento, prefixoTelefone,
+                    posicao.nomeBusca(), posicao.id(), limite);
+        }
+
+        return PaginacaoCursor.pagina(pagina, cliente -> ClienteCursor.de(cliente).codificar());
+    }
+
+    /**
+     * Sugestões para o autocompletar, servidas pelo {@link IndiceClientes}
+     * em memória, sem consulta ao banco.
+     */
+    public List<ClienteDTO> sugerir(String termo, int limite) {
+        if (termo == null || termo.isBlank()) {
+            return List.of();
+        }
+        return indiceClientes.sugerir(termo, Math.min(limite, LIMITE_MAXIMO_SUGESTOES));
     }
     
     public ClienteDTO findById(Long id) {
@@ -29,8 +74,9 @@ public class ClienteService {
         return convertToDTO(cliente);
     }
     
+    @Transactional
     public ClienteDTO create(ClienteCreateDTO dto) {
-        if (clienteRepository.existsByDocumento(dto.getDocumento())) {
+        if (documentoEmUso(dto.getDocumento())) {
             throw new RuntimeException("Já existe um cliente com este documento");
         }
         
@@ -40,16 +86,22 @@ public class ClienteService {
         cliente.setContato(dto.getContato());
         cliente.setEndereco(dto.getEndereco());
         
-        Cliente savedCliente = clienteRepository.save(cliente);
-        return convertToDTO(savedCliente);
+        // Gravado antes do UPDATE nativo, que referencia o cliente pela chave estrangeira
+        Cliente savedCliente = clienteRepository.saveAndFlush(cliente);
+        vincularOrdens(savedCliente);
+        ClienteDTO criado = convertToDTO(savedCliente);
+        indiceClientes.atualizar(criado);
+        return criado;
     }
     
+    @Transactional
     public ClienteDTO update(Long id, ClienteUpdateDTO dto) {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
         
         if (dto.getDocumento() != null && !dto.getDocumento().equals(cliente.getDocumento())) {
-            if (clienteRepository.existsByDocumento(dto.getDocumento())) {
+            if (documentoEmUso(dto.getDocumento())
+                    && !Objects.equals(Cliente.normalizarDocumento(dto.getDocumento()), cliente.getDocumentoNormalizado())) {
                 throw new RuntimeException("Já existe um cliente com este documento");
             }
             cliente.setDocumento(dto.getDocumento());
@@ -67,15 +119,23 @@ public class ClienteService {
             cliente.setEndereco(dto.getEndereco());
         }
         
-        Cliente updatedCliente = clienteRepository.save(cliente);
-        return convertToDTO(updatedCliente);
+        Cliente updatedCliente = clienteRepository.saveAndFlush(cliente);
+        // As OS já vinculadas continuam com o cliente; as do documento novo passam a ser dele
+        vincularOrdens(updatedCliente);
+        ClienteDTO atualizado = convertToDTO(updatedCliente);
+        indiceClientes.atualizar(atualizado);
+        return atualizado;
     }
     
+    @Transactional
     public void delete(Long id) {
         if (!clienteRepository.existsById(id)) {
             throw new RuntimeException("Cliente não encontrado");
         }
+        // As OS mantêm os dados do cliente copiados nelas, só perdem o vínculo
+        ordemServicoRepository.desvincularCliente(id);
         clienteRepository.deleteById(id);
+        indiceClientes.remover(id);
     }
     
     private ClienteDTO convertToDTO(Cliente cliente) {
@@ -89,4 +149,28 @@ public class ClienteService {
                 cliente.getUpdatedAt()
         );
     }
-} 
\ No newline at end of file
+
+    // Compara pelos dígitos: "123.456.789-00" e "12345678900" são o mesmo documento
+    private boolean documentoEmUso(String documento) {
+        String normalizado = Cliente.normalizarDocumento(documento);
+        return normalizado != null
+                ? clienteRepository.existsByDocumentoNormalizado(normalizado)
+                : clienteRepository.existsByDocumento(documento);
+    }
+
+    // Documentos sem dígitos (ex.: "ISENTO") não identificam ninguém, então não vinculam OS
+    private void vincularOrdens(Cliente cliente) {
+        if (cliente.getDocumentoNormalizado() != null) {
+            ordemServicoRepository.vincularAoCliente(cliente.getId(), cliente.getDocumentoNormalizado());
+        }
+    }
+
+    private static String prefixo(String valor) {
+        return valor.isEmpty() ? null : valor + "%";
+    }
+
+    // '!' é o caractere de escape declarado na consulta
+    private static String escaparLike(String valor) {
+        return valor.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,13 @@
+package com.sistemaos.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escreve um PDF em um stream de saída, sem montá-lo inteiro em memória.
+ */
+@FunctionalInterface
+public interface ConteudoPdf {
+
+    void escrever(OutputStream saida) throws IOException;
+}
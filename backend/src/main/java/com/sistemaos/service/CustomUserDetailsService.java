@@ -1,6 +1,8 @@
 package com.sistemaos.service;
 
 import com.sistemaos.repository.UsuarioRepository;
+import com.sistemaos.security.CachePrincipal;
+import com.sistemaos.security.UsuarioPrincipal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,9 +14,11 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final CachePrincipal cachePrincipal;
 
-    public CustomUserDetailsService(UsuarioRepository usuarioRepository) {
+    public CustomUserDetailsService(UsuarioRepository usuarioRepository, CachePrincipal cachePrincipal) {
         this.usuarioRepository = usuarioRepository;
+        this.cachePrincipal = cachePrincipal;
     }
 
     @Override
@@ -31,4 +35,14 @@ public class CustomUserDetailsService implements UserDetailsService {
                     return new UsernameNotFoundException("Usuário não encontrado");
                 });
     }
-} 
\ No newline at end of file
+
+    /**
+     * Carrega o usuário de uma requisição autenticada por token, sem senha nem
+     * avatar, passando pelo cache.
+     */
+    public UsuarioPrincipal carregarPrincipal(String email) throws UsernameNotFoundException {
+        return cachePrincipal.obter(email, chave -> usuarioRepository.buscarResumoPorEmail(chave)
+                .map(resumo -> new UsuarioPrincipal(resumo.id(), resumo.email(), resumo.tipo()))
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado")));
+    }
+}
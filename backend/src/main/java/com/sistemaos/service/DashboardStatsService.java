@@ -0,0 +1,193 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.entity.OrdemServico.StatusOrdemServico;
+import com.sistemaos.domain.projection.ResumoStatus;
+import com.sistemaos.repository.OrdemServicoRepository;
+import com.sistemaos.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Mantém os agregados do dashboard em memória, atualizados a cada escrita
+ * de ordens de serviço e produtos. Um job periódico reconcilia os valores
+ * com o banco para corrigir qualquer divergência (ex.: cargas via SQL).
+ *
+ * Os contadores são por nó: escritas feitas em outro nó só aparecem aqui na
+ * próxima reconciliação ({@code dashboard.stats.reconciliacao-ms}, 5 minutos
+ * por padrão).
+ */
+@Slf4j
+@Service
+public class DashboardStatsService {
+
+    public static final int LIMITE_BAIXO_ESTOQUE = 10;
+    private static final int TENTATIVAS_RECONCILIACAO = 3;
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final TransactionTemplate transacaoLeitura;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.vazio());
+
+    public DashboardStatsService(OrdemServicoRepository ordemServicoRepository, ProdutoRepository produtoRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.produtoRepository = produtoRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot atual = snapshot.get();
+
+        long ordensConcluidas = atual.contagem(StatusOrdemServico.CONCLUIDA);
+        BigDecimal ticketMedio = ordensConcluidas > 0
+            ? atual.faturamento().divide(BigDecimal.valueOf(ordensConcluidas), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalOrdensAbertas", atual.contagem(StatusOrdemServico.ABERTA));
+        stats.put("totalOrdensEmAndamento", atual.contagem(StatusOrdemServico.EM_ANDAMENTO));
+        stats.put("totalOrdensConcluidas", ordensConcluidas);
+        stats.put("totalOrdensCanceladas", atual.contagem(StatusOrdemServico.CANCELADA));
+        stats.put("faturamentoTotal", atual.faturamento());
+        stats.put("ticketMedio", ticketMedio);
+        stats.put("produtosBaixoEstoque", atual.produtosBaixoEstoque());
+        return stats;
+    }
+
+    /**
+     * Registra a mudança de uma OS. Use {@code null} no estado anterior para
+     * uma OS nova e no estado novo para uma OS removida.
+     */
+    public void registrarOrdem(StatusOrdemServico statusAnterior, BigDecimal valorAnterior,
+                               StatusOrdemServico statusNovo, BigDecimal valorNovo) {
+        if (statusAnterior == statusNovo && faturamentoDe(statusAnterior, valorAnterior)
+                .compareTo(faturamentoDe(statusNovo, valorNovo)) == 0) {
+            return;
+        }
+        aposCommit(() -> snapshot.updateAndGet(s -> s.comOrdem(statusAnterior, valorAnterior, statusNovo, valorNovo)));
+    }
+
+    /**
+     * Registra a mudança de estoque de um produto. Use {@code null} na quantidade
+     * anterior para um produto novo e na quantidade nova para um produto removido.
+     */
+    public void registrarProduto(Integer quantidadeAnterior, Integer quantidadeNova) {
+        long delta = (baixoEstoque(quantidadeNova) ? 1 : 0) - (baixoEstoque(quantidadeAnterior) ? 1 : 0);
+        if (delta == 0) {
+            return;
+        }
+        aposCommit(() -> snapshot.updateAndGet(s -> s.comBaixoEstoque(delta)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarInicial() {
+        reconciliar();
+    }
+
+    /**
+     * Recalcula os agregados no banco e troca o snapshot só se nenhuma
+     * alteração foi aplicada durante a leitura; senão a leitura pode ter
+     * visto ou não essa alteração, então é descartada e refeita.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stats.reconciliacao-ms:300000}",
+               initialDelayString = "${dashboard.stats.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        for (int tentativa = 1; tentativa <= TENTATIVAS_RECONCILIACAO; tentativa++) {
+            Snapshot anterior = snapshot.get();
+            Snapshot recalculado = transacaoLeitura.execute(status -> recalcular());
+            // Cada alteração gera um snapshot novo, então a referência serve de versão
+            if (snapshot.compareAndSet(anterior, recalculado)) {
+                if (!anterior.equivalente(recalculado)) {
+                    log.info("Estatísticas do dashboard reconciliadas: {} -> {}", anterior, recalculado);
+                }
+                return;
+            }
+        }
+        log.debug("Reconciliação do dashboard adiada: alterações concorrentes em {} tentativas",
+                TENTATIVAS_RECONCILIACAO);
+    }
+
+    private Snapshot recalcular() {
+        Map<StatusOrdemServico, Long> contagem = new EnumMap<>(StatusOrdemServico.class);
+        BigDecimal faturamento = BigDecimal.ZERO;
+        for (ResumoStatus resumo : ordemServicoRepository.resumirPorStatus()) {
+            contagem.put(resumo.status(), resumo.quantidade());
+            if (resumo.status() == StatusOrdemServico.CONCLUIDA) {
+                faturamento = resumo.valorTotal();
+            }
+        }
+        long baixoEstoque = produtoRepository.countByQuantidadeEstoqueLessThan(LIMITE_BAIXO_ESTOQUE);
+        return new Snapshot(contagem, faturamento, baixoEstoque);
+    }
+
+    private static boolean baixoEstoque(Integer quantidade) {
+        return quantidade != null && quantidade < LIMITE_BAIXO_ESTOQUE;
+    }
+
+    private static BigDecimal faturamentoDe(StatusOrdemServico status, BigDecimal valor) {
+        return status == StatusOrdemServico.CONCLUIDA && valor != null ? valor : BigDecimal.ZERO;
+    }
+
+    private record Snapshot(Map<StatusOrdemServico, Long> contagemPorStatus,
+                            BigDecimal faturamento,
+                            long produtosBaixoEstoque) {
+
+        static Snapshot vazio() {
+            return new Snapshot(new EnumMap<>(StatusOrdemServico.class), BigDecimal.ZERO, 0);
+        }
+
+        long contagem(StatusOrdemServico status) {
+            return contagemPorStatus.getOrDefault(status, 0L);
+        }
+
+        // BigDecimal por compareTo (100.0 e 100.00 são o mesmo valor) e status sem OS igual a contagem 0
+        boolean equivalente(Snapshot outro) {
+            if (produtosBaixoEstoque != outro.produtosBaixoEstoque
+                    || faturamento.compareTo(outro.faturamento) != 0) {
+                return false;
+            }
+            for (StatusOrdemServico status : StatusOrdemServico.values()) {
+                if (contagem(status) != outro.contagem(status)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Snapshot comOrdem(StatusOrdemServico statusAnterior, BigDecimal valorAnterior,
+                          StatusOrdemServico statusNovo, BigDecimal valorNovo) {
+            Map<StatusOrdemServico, Long> contagem = new EnumMap<>(StatusOrdemServico.class);
+            contagem.putAll(contagemPorStatus);
+            if (statusAnterior != null) {
+                contagem.merge(statusAnterior, -1L, Long::sum);
+            }
+            if (statusNovo != null) {
+                contagem.merge(statusNovo, 1L, Long::sum);
+            }
+            BigDecimal novoFaturamento = faturamento
+                    .subtract(faturamentoDe(statusAnterior, valorAnterior))
+                    .add(faturamentoDe(statusNovo, valorNovo));
+            return new Snapshot(contagem, novoFaturamento, produtosBaixoEstoque);
+        }
+
+        Snapshot comBaixoEstoque(long delta) {
+            return new Snapshot(contagemPorStatus, faturamento, produtosBaixoEstoque + delta);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.sistemaos.service;
+
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Font;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Fontes e formatos compartilhados pelos PDFs, criados uma única vez.
+ */
+final class EstiloPdf {
+
+    static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", new Locale("pt", "BR"));
+    static final DateTimeFormatter FORMATTER_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy", new Locale("pt", "BR"));
+
+    static final Font FONTE_TITULO = fonte(BaseFont.HELVETICA_BOLD, 16);
+    static final Font FONTE_NUMERO = fonte(BaseFont.HELVETICA_BOLD, 14);
+    static final Font FONTE_SECAO = fonte(BaseFont.HELVETICA_BOLD, 12);
+    static final Font FONTE_CABECALHO_TABELA = fonte(BaseFont.HELVETICA_BOLD, 10);
+    static final Font FONTE_TABELA = fonte(BaseFont.HELVETICA, 10);
+    static final Font FONTE_RODAPE = fonte(BaseFont.HELVETICA, 8);
+
+    private EstiloPdf() {
+    }
+
+    /**
+     * Célula de cabeçalho de tabela. O PdfPTable.addCell copia a célula, então
+     * a mesma instância pode ser reutilizada entre documentos e threads.
+     */
+    static PdfPCell celulaCabecalho(String texto) {
+        return new PdfPCell(new Phrase(texto, FONTE_CABECALHO_TABELA));
+    }
+
+    /**
+     * Formata como {@code R$ 1234,50}, sem passar por {@code String.format}.
+     */
+    static String moeda(BigDecimal valor) {
+        if (valor == null) {
+            return "R$ null";
+        }
+        return "R$ " + valor.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',');
+    }
+
+    private static Font fonte(String nome, float tamanho) {
+        try {
+            return new Font(BaseFont.createFont(nome, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED), tamanho);
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Fonte não disponível: " + nome, e);
+        }
+    }
+}
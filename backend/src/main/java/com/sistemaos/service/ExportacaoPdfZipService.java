@@ -0,0 +1,123 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.repository.OrdemServicoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exporta os PDFs de várias OS em um único ZIP escrito em streaming.
+ *
+ * Os PDFs são preparados em paralelo (do cache ou renderizados para o disco)
+ * em um pool limitado, mas as entradas são escritas na ordem da consulta.
+ * Cada exportação mantém no máximo {@code janela} PDFs adiantados, então a
+ * memória usada não depende da quantidade de OS.
+ */
+@Slf4j
+@Service
+public class ExportacaoPdfZipService {
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final GeracaoPdfService geracaoPdfService;
+    private final TransactionTemplate transacaoLeitura;
+    private final ExecutorService executor;
+    private final int janela;
+
+    public ExportacaoPdfZipService(OrdemServicoRepository ordemServicoRepository, GeracaoPdfService geracaoPdfService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${pdf.exportacao.threads:4}") int threads) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.geracaoPdfService = geracaoPdfService;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.janela = threads * 2;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), tarefa -> {
+                    Thread thread = new Thread(tarefa, "pdf-exportacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void exportar(LocalDateTime inicio, LocalDateTime fim, OrdemServico.StatusOrdemServico status,
+                         Long responsavelId, OutputStream out) throws IOException {
+        List<Long> ids = ordemServicoRepository.listarIdsPorFiltro(inicio, fim, status, responsavelId);
+        log.info("Exportando {} PDFs de OS em ZIP ({} a {}, status {}, responsável {})",
+                ids.size(), inicio, fim, status, responsavelId);
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDFs já são comprimidos, compressão máxima só gastaria CPU
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        Iterator<Long> pendentes = ids.iterator();
+        Deque<CompletableFuture<EntradaZip>> emAndamento = new ArrayDeque<>();
+        try {
+            while (emAndamento.size() < janela && pendentes.hasNext()) {
+                emAndamento.add(preparar(pendentes.next()));
+            }
+            while (!emAndamento.isEmpty()) {
+                EntradaZip entrada = aguardar(emAndamento.removeFirst());
+                if (pendentes.hasNext()) {
+                    emAndamento.add(preparar(pendentes.next()));
+                }
+
+                zip.putNextEntry(new ZipEntry(entrada.nome()));
+                entrada.conteudo().escrever(zip);
+                zip.closeEntry();
+            }
+        } finally {
+            emAndamento.forEach(futuro -> futuro.cancel(false));
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<EntradaZip> preparar(Long ordemServicoId) {
+        return CompletableFuture.supplyAsync(() -> {
+            // Renderiza fora da transação: a conexão só é usada para ler a OS com o grafo de detalhe
+            OrdemServico os = transacaoLeitura.execute(status -> ordemServicoRepository.findDetalhadaById(ordemServicoId)
+                    .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada")));
+            return new EntradaZip(os.getNumero() + ".pdf", geracaoPdfService.garantirEmCache(os));
+        }, executor);
+    }
+
+    private static EntradaZip aguardar(CompletableFuture<EntradaZip> futuro) throws IOException {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            throw new IOException("Erro ao preparar PDF para o ZIP: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private record EntradaZip(String nome, ConteudoPdf conteudo) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.sistemaos.service;
+
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.*;
+import com.sistemaos.domain.entity.Cliente;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+import com.sistemaos.repository.ClienteRepository;
+import com.sistemaos.repository.OrdemServicoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.sistemaos.service.EstiloPdf.*;
+
+/**
+ * Extrato em PDF de todas as OS de um cliente (pelos dígitos do documento,
+ * com ou sem máscara) no período.
+ *
+ * As OS são lidas por cursor e a tabela é enviada ao documento em blocos
+ * ({@link PdfPTable#setComplete(boolean)}), então só um bloco de linhas fica
+ * em memória, qualquer que seja a quantidade de OS do cliente.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtratoClientePdfService {
+
+    private static final int LINHAS_POR_BLOCO = 100;
+    private static final float[] LARGURAS = {2.2f, 1.4f, 3f, 1.6f, 1.5f, 1.7f};
+    private static final List<PdfPCell> CABECALHO = List.of(
+            celulaCabecalho("Número"),
+            celulaCabecalho("Abertura"),
+            celulaCabecalho("Equipamento"),
+            celulaCabecalho("Status"),
+            celulaCabecalho("Valor"),
+            celulaCabecalho("Acumulado"));
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ClienteRepository clienteRepository;
+
+    @Transactional(readOnly = true)
+    public void gerarExtrato(String documento, LocalDateTime inicio, LocalDateTime fim, OutputStream saida) {
+        String normalizado = Cliente.normalizarDocumento(documento);
+        if (normalizado == null) {
+            throw new IllegalArgumentException("Documento sem dígitos não identifica um cliente");
+        }
+        String nomeCliente = clienteRepository.findByDocumentoNormalizado(normalizado)
+                .map(Cliente::getNome)
+                .orElse(null);
+
+        try (Stream<OrdemServicoResumo> ordens =
+                     ordemServicoRepository.streamResumosPorDocumentoCliente(normalizado, inicio, fim)) {
+            Document document = new Document(PageSize.A4);
+            PdfWriter writer = PdfWriter.getInstance(document, saida);
+            writer.setCloseStream(false);
+            document.open();
+
+            Iterator<OrdemServicoResumo> it = ordens.iterator();
+            OrdemServicoResumo primeira = it.hasNext() ? it.next() : null;
+            if (nomeCliente == null && primeira != null) {
+                nomeCliente = primeira.nomeCliente();
+            }
+            adicionarCabecalho(document, nomeCliente, documento, inicio, fim);
+
+            PdfPTable tabela = novaTabela();
+            long quantidade = 0;
+            BigDecimal acumulado = BigDecimal.ZERO;
+            for (OrdemServicoResumo os = primeira; os != null; os = it.hasNext() ? it.next() : null) {
+                // OS canceladas aparecem no extrato, mas não somam
+                if (os.status() != OrdemServico.StatusOrdemServico.CANCELADA && os.valorTotal() != null) {
+                    acumulado = acumulado.add(os.valorTotal());
+                }
+                tabela.addCell(new Phrase(os.numero(), FONTE_TABELA));
+                tabela.addCell(new Phrase(os.dataAbertura().format(FORMATTER_DATA), FONTE_TABELA));
+                tabela.addCell(new Phrase(os.equipamento(), FONTE_TABELA));
+                tabela.addCell(new Phrase(String.valueOf(os.status()), FONTE_TABELA));
+                tabela.addCell(new Phrase(moeda(os.valorTotal()), FONTE_TABELA));
+                tabela.addCell(new Phrase(moeda(acumulado), FONTE_TABELA));
+
+                if (++quantidade % LINHAS_POR_BLOCO == 0) {
+                    // Escreve as linhas já montadas e as descarta da tabela
+                    document.add(tabela);
+                }
+            }
+            tabela.setComplete(true);
+            document.add(tabela);
+
+            Paragraph resumo = new Paragraph();
+            resumo.add(new Chunk("\nRESUMO\n", FONTE_SECAO));
+            resumo.add("Quantidade de OS: " + quantidade + "\n");
+            resumo.add("Valor total (exceto canceladas): " + moeda(acumulado) + "\n");
+            document.add(resumo);
+            document.close();
+
+            log.info("Extrato do cliente {} gerado: {} OS entre {} e {}", documento, quantidade, inicio, fim);
+        } catch (DocumentException e) {
+            throw new RuntimeException("Erro ao gerar extrato: " + e.getMessage(), e);
+        }
+    }
+
+    private void adicionarCabecalho(Document document, String nomeCliente, String documento,
+                                    LocalDateTime inicio, LocalDateTime fim) throws DocumentException {
+        Paragraph header = new Paragraph();
+        header.setAlignment(Element.ALIGN_CENTER);
+        header.add(new Chunk("EXTRATO DE ORDENS DE SERVIÇO\n\n", FONTE_TITULO));
+        document.add(header);
+
+        Paragraph clienteInfo = new Paragraph();
+        clienteInfo.add(new Chunk("CLIENTE\n", FONTE_SECAO));
+        clienteInfo.add("Nome: " + (nomeCliente != null ? nomeCliente : "-") + "\n");
+        clienteInfo.add("Documento: " + documento + "\n");
+        clienteInfo.add("Período: " + inicio.format(FORMATTER) + " a " + fim.format(FORMATTER) + "\n\n");
+        document.add(clienteInfo);
+    }
+
+    private static PdfPTable novaTabela() throws DocumentException {
+        PdfPTable tabela = new PdfPTable(LARGURAS.length);
+        tabela.setWidthPercentage(100);
+        tabela.setWidths(LARGURAS);
+        tabela.setComplete(false);
+        for (PdfPCell celula : CABECALHO) {
+            tabela.addCell(celula);
+        }
+        tabela.setHeaderRows(1);
+        return tabela;
+    }
+}
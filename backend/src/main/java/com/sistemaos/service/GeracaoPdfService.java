@@ -0,0 +1,243 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.repository.OrdemServicoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Gera os PDFs das OS concluídas em segundo plano, depois do commit, e os
+ * guarda no {@link CachePdf}. Os downloads servem o PDF em cache da versão
+ * atual da OS e só renderizam na hora se ele ainda não existir.
+ *
+ * A OS é lida em uma transação curta e renderizada depois dela, sem segurar
+ * conexão do pool. As gerações em andamento ficam em {@code pendentes}
+ * (limitado pela fila) e as que falharam em um mapa LRU limitado. PRONTO não
+ * é guardado: vale enquanto a versão atual da OS estiver no cache.
+ */
+@Slf4j
+@Service
+public class GeracaoPdfService {
+
+    public enum StatusPdf {
+        NAO_GERADO, PENDENTE, PRONTO, FALHOU
+    }
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final PDFService pdfService;
+    private final CachePdf cachePdf;
+    private final TransactionTemplate transacaoLeitura;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Long, EstadoPdf> pendentes = new ConcurrentHashMap<>();
+    private final Map<Long, EstadoPdf> falhas;
+    private final AtomicLong geracoes = new AtomicLong();
+
+    public GeracaoPdfService(OrdemServicoRepository ordemServicoRepository, PDFService pdfService, CachePdf cachePdf,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${pdf.geracao.threads:2}") int threads,
+                             @Value("${pdf.geracao.fila:200}") int tamanhoFila,
+                             @Value("${pdf.geracao.estados-max:10000}") int estadosMax) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.pdfService = pdfService;
+        this.cachePdf = cachePdf;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.falhas = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EstadoPdf> maisAntigo) {
+                return size() > estadosMax;
+            }
+        });
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "pdf-geracao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Agenda a geração do PDF para depois do commit da transação atual,
+     * descartando as versões anteriores.
+     */
+    public void agendar(Long ordemServicoId) {
+        aposCommit(() -> {
+            cachePdf.remover(ordemServicoId);
+            enviar(ordemServicoId);
+        });
+    }
+
+    /**
+     * Descarta os PDFs guardados depois do commit (ex.: OS reaberta).
+     */
+    public void invalidar(Long ordemServicoId) {
+        aposCommit(() -> {
+            pendentes.remove(ordemServicoId);
+            falhas.remove(ordemServicoId);
+            cachePdf.remover(ordemServicoId);
+        });
+    }
+
+    /**
+     * Status do PDF da OS: PENDENTE enquanto a geração agendada não termina,
+     * PRONTO se a versão atual estiver em memória ou em disco, FALHOU se a
+     * última geração falhou. A consulta não altera o estado, então pode ser
+     * repetida por qualquer cliente.
+     */
+    @Transactional(readOnly = true)
+    public StatusPdf consultarStatus(Long ordemServicoId) {
+        EstadoPdf pendente = pendentes.get(ordemServicoId);
+        if (pendente != null) {
+            return pendente.status();
+        }
+        Optional<OrdemServico> os = ordemServicoRepository.findDetalhadaById(ordemServicoId);
+        if (os.isPresent() && cachePdf.contem(ordemServicoId, pdfService.calcularVersao(os.get()))) {
+            return StatusPdf.PRONTO;
+        }
+        return falhas.containsKey(ordemServicoId) ? StatusPdf.FALHOU : StatusPdf.NAO_GERADO;
+    }
+
+    /**
+     * Retorna o PDF da versão atual da OS, pronto para ser escrito na resposta:
+     * da memória, copiado do disco ou renderizado direto na saída (e no disco)
+     * se ainda não existir. Se {@code versaoCliente} já for a versão atual, o
+     * conteúdo vem nulo e nada é lido nem renderizado.
+     *
+     * A OS é carregada com o grafo de detalhe, então a renderização pode
+     * acontecer depois do fim da transação.
+     */
+    @Transactional(readOnly = true)
+    public DocumentoPdf obterPdf(Long ordemServicoId, String versaoCliente) {
+        OrdemServico os = ordemServicoRepository.findDetalhadaById(ordemServicoId)
+                .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada"));
+        String versao = pdfService.calcularVersao(os);
+        if (versao.equals(versaoCliente)) {
+            return new DocumentoPdf(versao, null, null);
+        }
+
+        Optional<byte[]> emMemoria = cachePdf.buscar(ordemServicoId, versao);
+        if (emMemoria.isPresent()) {
+            byte[] pdf = emMemoria.get();
+            return new DocumentoPdf(versao, (long) pdf.length, saida -> saida.write(pdf));
+        }
+        Optional<Path> emDisco = cachePdf.localizar(ordemServicoId, versao);
+        if (emDisco.isPresent()) {
+            return new DocumentoPdf(versao, tamanhoDe(emDisco.get()), saida -> Files.copy(emDisco.get(), saida));
+        }
+        return new DocumentoPdf(versao, null,
+                saida -> cachePdf.gravar(ordemServicoId, versao, destino -> pdfService.gerarPDF(os, destino), saida));
+    }
+
+    /**
+     * Garante que a versão atual do PDF da OS está em cache, renderizando-a
+     * para o disco se preciso, e retorna o conteúdo em cache. A OS deve estar
+     * carregada com o grafo de detalhe.
+     */
+    public ConteudoPdf garantirEmCache(OrdemServico os) {
+        String versao = pdfService.calcularVersao(os);
+        Optional<byte[]> emMemoria = cachePdf.buscar(os.getId(), versao);
+        if (emMemoria.isPresent()) {
+            byte[] pdf = emMemoria.get();
+            return saida -> saida.write(pdf);
+        }
+        Path arquivo = cachePdf.localizar(os.getId(), versao).orElseGet(() -> {
+            try {
+                cachePdf.gravar(os.getId(), versao, destino -> pdfService.gerarPDF(os, destino),
+                        OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return cachePdf.localizar(os.getId(), versao)
+                    .orElseThrow(() -> new IllegalStateException("PDF da OS " + os.getId() + " não foi armazenado"));
+        });
+        return saida -> Files.copy(arquivo, saida);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private void enviar(Long ordemServicoId) {
+        long geracao = geracoes.incrementAndGet();
+        falhas.remove(ordemServicoId);
+        pendentes.put(ordemServicoId, new EstadoPdf(StatusPdf.PENDENTE, geracao));
+        try {
+            executor.execute(() -> gerar(ordemServicoId, geracao));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de geração de PDF cheia, OS {} será gerada no próximo download", ordemServicoId);
+            marcar(ordemServicoId, geracao, StatusPdf.FALHOU);
+        }
+    }
+
+    private void gerar(Long ordemServicoId, long geracao) {
+        try {
+            // O grafo de detalhe traz tudo o que o PDF usa; a renderização roda sem transação
+            OrdemServico os = transacaoLeitura.execute(status -> ordemServicoRepository.findDetalhadaById(ordemServicoId)
+                    .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada")));
+            garantirEmCache(os);
+            marcar(ordemServicoId, geracao, StatusPdf.PRONTO);
+        } catch (RuntimeException e) {
+            log.error("Erro ao gerar PDF da OS {}", ordemServicoId, e);
+            marcar(ordemServicoId, geracao, StatusPdf.FALHOU);
+        }
+    }
+
+    // Só a geração mais recente da OS registra o resultado
+    private void marcar(Long ordemServicoId, long geracao, StatusPdf status) {
+        EstadoPdf atual = pendentes.get(ordemServicoId);
+        if (atual == null || atual.geracao() != geracao) {
+            return;
+        }
+        // A falha (ou o PDF em cache) existe antes de sair dos pendentes: a consulta nunca vê NAO_GERADO no meio
+        if (status == StatusPdf.FALHOU) {
+            falhas.put(ordemServicoId, new EstadoPdf(status, geracao));
+        }
+        pendentes.remove(ordemServicoId, atual);
+    }
+
+    private static Long tamanhoDe(Path arquivo) {
+        try {
+            return Files.size(arquivo);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * PDF de uma OS e a versão do conteúdo, usada como ETag. O tamanho só é
+     * conhecido quando o PDF já existe em cache.
+     */
+    public record DocumentoPdf(String versao, Long tamanho, ConteudoPdf conteudo) {
+    }
+
+    private record EstadoPdf(StatusPdf status, long geracao) {
+    }
+}
@@ -0,0 +1,355 @@
+package com.sistemaos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaos.domain.dto.EquipamentoUsadoDTO;
+import com.sistemaos.domain.dto.ImportacaoResultadoDTO;
+import com.sistemaos.domain.dto.OrdemServicoCreateDTO;
+import com.sistemaos.domain.entity.Cliente;
+import com.sistemaos.domain.entity.EquipamentoUsado;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.entity.Produto;
+import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.domain.projection.DocumentoCliente;
+import com.sistemaos.domain.projection.PrecoProduto;
+import com.sistemaos.repository.ClienteRepository;
+import com.sistemaos.repository.ProdutoRepository;
+import com.sistemaos.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de ordens de serviço a partir de CSV ({@code ;}) ou NDJSON.
+ *
+ * O arquivo é lido linha a linha; responsáveis, preços de produtos e
+ * documentos de clientes são carregados uma vez em memória e as linhas
+ * válidas são gravadas em lotes, cada um na sua própria transação. Um lote
+ * com falha não desfaz os anteriores.
+ */
+@Slf4j
+@Service
+public class ImportacaoOrdemServicoService {
+
+    private static final int MAXIMO_ERROS = 1000;
+
+    private final UsuarioRepository usuarioRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ClienteRepository clienteRepository;
+    private final NumeradorOrdemServico numeradorOrdemServico;
+    private final DashboardStatsService dashboardStatsService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public ImportacaoOrdemServicoService(UsuarioRepository usuarioRepository, ProdutoRepository produtoRepository,
+                                         ClienteRepository clienteRepository,
+                                         NumeradorOrdemServico numeradorOrdemServico,
+                                         DashboardStatsService dashboardStatsService, EntityManager entityManager,
+                                         ObjectMapper objectMapper, Validator validator,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${ordem-servico.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.usuarioRepository = usuarioRepository;
+        this.produtoRepository = produtoRepository;
+        this.clienteRepository = clienteRepository;
+        this.numeradorOrdemServico = numeradorOrdemServico;
+        this.dashboardStatsService = dashboardStatsService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public ImportacaoResultadoDTO importar(InputStream entrada, FormatoArquivo formato) throws IOException {
+        Set<Long> responsaveis = new HashSet<>(usuarioRepository.listarIds());
+        Map<Long, BigDecimal> precos = produtoRepository.listarPrecos().stream()
+                .collect(Collectors.toMap(PrecoProduto::id, PrecoProduto::preco));
+        Map<String, Long> clientes = clienteRepository.listarDocumentos().stream()
+                .collect(Collectors.toMap(DocumentoCliente::documentoNormalizado, DocumentoCliente::id));
+
+        Progresso progresso = new Progresso();
+        List<LinhaValida> lote = new ArrayList<>(tamanhoLote);
+        Map<String, Integer> cabecalho = null;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String linha;
+        long numeroLinha = 0;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (formato == FormatoArquivo.CSV && cabecalho == null) {
+                cabecalho = lerCabecalho(linha);
+                continue;
+            }
+
+            progresso.linhasLidas++;
+            try {
+                OrdemServicoCreateDTO dto = formato == FormatoArquivo.CSV
+                        ? lerCsv(cabecalho, linha)
+                        : objectMapper.readValue(linha, OrdemServicoCreateDTO.class);
+                validar(dto, responsaveis, precos);
+                lote.add(new LinhaValida(numeroLinha, dto));
+            } catch (JsonProcessingException e) {
+                progresso.erro(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                progresso.erro(numeroLinha, e.getMessage());
+            }
+
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote, precos, clientes, progresso);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, precos, clientes, progresso);
+        }
+
+        log.info("Importação de OS concluída: {} linhas lidas, {} importadas, {} rejeitadas",
+                progresso.linhasLidas, progresso.importadas, progresso.rejeitadas);
+        return progresso.resultado();
+    }
+
+    private void gravarLote(List<LinhaValida> lote, Map<Long, BigDecimal> precos, Map<String, Long> clientes,
+                            Progresso progresso) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (LinhaValida linha : lote) {
+                    OrdemServico ordemServico = montar(linha.dto(), precos, clientes);
+                    entityManager.persist(ordemServico);
+                    dashboardStatsService.registrarOrdem(null, null, ordemServico.getStatus(), ordemServico.getValorTotal());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            progresso.importadas += lote.size();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de importação (linhas {} a {}): {}",
+                    lote.get(0).numero(), lote.get(lote.size() - 1).numero(), e.getMessage());
+            for (LinhaValida linha : lote) {
+                progresso.erro(linha.numero(), "Lote não gravado: " + e.getMessage());
+            }
+        }
+        log.info("Importação de OS em andamento: {} linhas lidas, {} importadas, {} rejeitadas",
+                progresso.linhasLidas, progresso.importadas, progresso.rejeitadas);
+    }
+
+    private OrdemServico montar(OrdemServicoCreateDTO dto, Map<Long, BigDecimal> precos, Map<String, Long> clientes) {
+        String documento = Cliente.normalizarDocumento(dto.getDocumentoCliente());
+        Long clienteId = documento != null ? clientes.get(documento) : null;
+        OrdemServico ordemServico = OrdemServico.builder()
+                .numero(numeradorOrdemServico.proximoNumero())
+                .nomeCliente(dto.getNomeCliente())
+                .documentoCliente(dto.getDocumentoCliente())
+                .telefoneCliente(dto.getTelefoneCliente())
+                .enderecoCliente(dto.getEnderecoCliente())
+                .cliente(clienteId != null ? entityManager.getReference(Cliente.class, clienteId) : null)
+                .responsavel(entityManager.getReference(Usuario.class, dto.getResponsavelId()))
+                .dataAbertura(LocalDateTime.now())
+                .status(OrdemServico.StatusOrdemServico.ABERTA)
+                .descricaoProblema(dto.getDescricaoProblema())
+                .equipamento(dto.getEquipamento())
+                .marca(dto.getMarca())
+                .modelo(dto.getModelo())
+                .numeroSerie(dto.getNumeroSerie())
+                .valorTotal(BigDecimal.ZERO)
+                .equipamentosUsados(new ArrayList<>())
+                .build();
+
+        if (dto.getEquipamentosUsados() != null) {
+            BigDecimal valorTotal = BigDecimal.ZERO;
+            for (EquipamentoUsadoDTO equipDTO : dto.getEquipamentosUsados()) {
+                BigDecimal preco = precos.get(equipDTO.getProdutoId());
+                EquipamentoUsado equipUsado = EquipamentoUsado.builder()
+                        .ordemServico(ordemServico)
+                        .produto(entityManager.getReference(Produto.class, equipDTO.getProdutoId()))
+                        .quantidade(equipDTO.getQuantidade())
+                        .valorUnitario(preco)
+                        .valorTotal(preco.multiply(BigDecimal.valueOf(equipDTO.getQuantidade())))
+                        .build();
+                ordemServico.getEquipamentosUsados().add(equipUsado);
+                valorTotal = valorTotal.add(equipUsado.getValorTotal());
+            }
+            ordemServico.setValorTotal(valorTotal);
+        }
+        return ordemServico;
+    }
+
+    private void validar(OrdemServicoCreateDTO dto, Set<Long> responsaveis, Map<Long, BigDecimal> precos) {
+        Set<ConstraintViolation<OrdemServicoCreateDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (!responsaveis.contains(dto.getResponsavelId())) {
+            throw new IllegalArgumentException("Responsável não encontrado: " + dto.getResponsavelId());
+        }
+        if (dto.getEquipamentosUsados() != null) {
+            for (EquipamentoUsadoDTO equip : dto.getEquipamentosUsados()) {
+                if (equip.getProdutoId() == null || !precos.containsKey(equip.getProdutoId())) {
+                    throw new IllegalArgumentException("Produto não encontrado: " + equip.getProdutoId());
+                }
+                if (equip.getQuantidade() == null || equip.getQuantidade() <= 0) {
+                    throw new IllegalArgumentException("Quantidade inválida para o produto " + equip.getProdutoId());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> lerCabecalho(String linha) {
+        List<String> colunas = dividirCsv(linha);
+        Map<String, Integer> cabecalho = new HashMap<>();
+        for (int i = 0; i < colunas.size(); i++) {
+            cabecalho.put(colunas.get(i).trim(), i);
+        }
+        return cabecalho;
+    }
+
+    /**
+     * Converte uma linha CSV. Os equipamentos usados vêm em uma única coluna
+     * no formato {@code produtoId:quantidade|produtoId:quantidade}.
+     */
+    private static OrdemServicoCreateDTO lerCsv(Map<String, Integer> cabecalho, String linha) {
+        List<String> campos = dividirCsv(linha);
+        String responsavelId = campo(cabecalho, campos, "responsavelId");
+        return OrdemServicoCreateDTO.builder()
+                .nomeCliente(campo(cabecalho, campos, "nomeCliente"))
+                .documentoCliente(campo(cabecalho, campos, "documentoCliente"))
+                .telefoneCliente(campo(cabecalho, campos, "telefoneCliente"))
+                .enderecoCliente(campo(cabecalho, campos, "enderecoCliente"))
+                .descricaoProblema(campo(cabecalho, campos, "descricaoProblema"))
+                .equipamento(campo(cabecalho, campos, "equipamento"))
+                .responsavelId(responsavelId != null ? numero(responsavelId, "responsavelId") : null)
+                .marca(campo(cabecalho, campos, "marca"))
+                .modelo(campo(cabecalho, campos, "modelo"))
+                .numeroSerie(campo(cabecalho, campos, "numeroSerie"))
+                .equipamentosUsados(lerEquipamentos(campo(cabecalho, campos, "equipamentosUsados")))
+                .build();
+    }
+
+    private static List<EquipamentoUsadoDTO> lerEquipamentos(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        List<EquipamentoUsadoDTO> equipamentos = new ArrayList<>();
+        for (String item : valor.split("\\|")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Equipamento usado inválido: " + item);
+            }
+            equipamentos.add(EquipamentoUsadoDTO.builder()
+                    .produtoId(numero(partes[0], "produtoId"))
+                    .quantidade((int) numero(partes[1], "quantidade"))
+                    .build());
+        }
+        return equipamentos;
+    }
+
+    private static String campo(Map<String, Integer> cabecalho, List<String> campos, String nome) {
+        Integer indice = cabecalho.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static long numero(String valor, String nome) {
+        try {
+            return Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + nome + ": " + valor);
+        }
+    }
+
+    /**
+     * Divide uma linha CSV separada por {@code ;}, aceitando campos entre aspas
+     * com {@code ""} como escape (mesmo formato da exportação).
+     */
+    private static List<String> dividirCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ';') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private record LinhaValida(long numero, OrdemServicoCreateDTO dto) {
+    }
+
+    private static class Progresso {
+        private long linhasLidas;
+        private long importadas;
+        private long rejeitadas;
+        private final List<ImportacaoResultadoDTO.ErroLinha> erros = new ArrayList<>();
+        private boolean errosTruncados;
+
+        void erro(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(new ImportacaoResultadoDTO.ErroLinha(linha, mensagem));
+            } else {
+                errosTruncados = true;
+            }
+        }
+
+        ImportacaoResultadoDTO resultado() {
+            return ImportacaoResultadoDTO.builder()
+                    .linhasLidas(linhasLidas)
+                    .importadas(importadas)
+                    .rejeitadas(rejeitadas)
+                    .erros(erros)
+                    .errosTruncados(errosTruncados)
+                    .build();
+        }
+    }
+}
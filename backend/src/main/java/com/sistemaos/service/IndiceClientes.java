@@ -0,0 +1,233 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.dto.ClienteDTO;
+import com.sistemaos.domain.entity.Cliente;
+import com.sistemaos.repository.ClienteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sistemaos.config.Transacoes.aposCommit;
+
+/**
+ * Índice de prefixos em memória para o autocompletar de clientes na abertura
+ * de OS, sem ida ao banco.
+ *
+ * São dois vetores ordenados de chaves: nome normalizado (o nome completo e
+ * cada palavra a partir da segunda, para achar "silva" em "Maria Silva") e
+ * dígitos do documento. Uma consulta é uma busca binária pelo prefixo seguida
+ * de uma leitura sequencial até juntar {@code limite} clientes.
+ *
+ * Leituras usam o snapshot atual sem lock; cada alteração gera vetores novos
+ * (cópia com inserção/remoção pontual). É carregado na inicialização,
+ * atualizado pelo {@link ClienteService} após o commit e reconstruído
+ * periodicamente para trazer alterações feitas por outros nós. Alterações
+ * aplicadas durante uma reconstrução são registradas e reaplicadas sobre o
+ * snapshot novo, que pode ter sido lido do banco antes delas.
+ */
+@Slf4j
+@Component
+public class IndiceClientes {
+
+    private static final Comparator<Chave> ORDEM = Comparator.comparing(Chave::texto)
+            .thenComparing(chave -> chave.cliente().getId());
+
+    private final ClienteRepository clienteRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new Chave[0], new Chave[0], Map.of());
+    // Não nulo enquanto uma reconstrução lê o banco; protegido pelo lock do índice
+    private List<Alteracao> alteracoesDuranteReconstrucao;
+
+    public IndiceClientes(ClienteRepository clienteRepository) {
+        this.clienteRepository = clienteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarInicial() {
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "${clientes.indice.reconstrucao-ms:600000}",
+               initialDelayString = "${clientes.indice.reconstrucao-ms:600000}")
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            alteracoesDuranteReconstrucao = new ArrayList<>();
+        }
+        List<ClienteDTO> clientes;
+        try {
+            clientes = clienteRepository.listarDTOs();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                alteracoesDuranteReconstrucao = null;
+            }
+            throw e;
+        }
+
+        List<Chave> nomes = new ArrayList<>(clientes.size() * 2);
+        List<Chave> documentos = new ArrayList<>(clientes.size());
+        Map<Long, ClienteDTO> porId = new HashMap<>(clientes.size() * 2);
+        for (ClienteDTO cliente : clientes) {
+            nomes.addAll(chavesNome(cliente));
+            documentos.add(chaveDocumento(cliente));
+            porId.put(cliente.getId(), cliente);
+        }
+        Chave[] vetorNomes = nomes.toArray(Chave[]::new);
+        Chave[] vetorDocumentos = documentos.toArray(Chave[]::new);
+        Arrays.sort(vetorNomes, ORDEM);
+        Arrays.sort(vetorDocumentos, ORDEM);
+
+        synchronized (this) {
+            Snapshot novo = new Snapshot(vetorNomes, vetorDocumentos, porId);
+            // Reaplicar é idempotente: uma alteração já vista pela leitura não muda nada
+            for (Alteracao alteracao : alteracoesDuranteReconstrucao) {
+                novo = aplicar(novo, alteracao.clienteId(), alteracao.cliente());
+            }
+            alteracoesDuranteReconstrucao = null;
+            snapshot = novo;
+        }
+        log.info("Índice de clientes reconstruído: {} clientes em {} ms",
+                clientes.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Até {@code limite} clientes cujo nome (ou uma palavra do nome) começa
+     * com o termo ou, se o termo tiver só dígitos e pontuação, cujo documento
+     * começa com esses dígitos.
+     */
+    public List<ClienteDTO> sugerir(String termo, int limite) {
+        Snapshot atual = snapshot;
+        String digitos = Cliente.somenteDigitos(termo);
+        boolean porDocumento = !digitos.isEmpty() && termo.chars().noneMatch(Character::isLetter);
+        String prefixo = porDocumento ? digitos : Cliente.normalizarNome(termo);
+        if (prefixo.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        Chave[] chaves = porDocumento ? atual.documentos() : atual.nomes();
+        Map<Long, ClienteDTO> encontrados = new LinkedHashMap<>();
+        for (int i = primeiroComPrefixo(chaves, prefixo);
+             i < chaves.length && encontrados.size() < limite && chaves[i].texto().startsWith(prefixo);
+             i++) {
+            encontrados.putIfAbsent(chaves[i].cliente().getId(), chaves[i].cliente());
+        }
+        return new ArrayList<>(encontrados.values());
+    }
+
+    public void atualizar(ClienteDTO cliente) {
+        aposCommit(() -> aplicar(cliente.getId(), cliente));
+    }
+
+    public void remover(Long clienteId) {
+        aposCommit(() -> aplicar(clienteId, null));
+    }
+
+    private synchronized void aplicar(Long clienteId, ClienteDTO novo) {
+        if (alteracoesDuranteReconstrucao != null) {
+            alteracoesDuranteReconstrucao.add(new Alteracao(clienteId, novo));
+        }
+        snapshot = aplicar(snapshot, clienteId, novo);
+    }
+
+    private static Snapshot aplicar(Snapshot atual, Long clienteId, ClienteDTO novo) {
+        ClienteDTO anterior = atual.porId().get(clienteId);
+
+        Chave[] nomes = atual.nomes();
+        Chave[] documentos = atual.documentos();
+        if (anterior != null) {
+            for (Chave chave : chavesNome(anterior)) {
+                nomes = remover(nomes, chave);
+            }
+            documentos = remover(documentos, chaveDocumento(anterior));
+        }
+        if (novo != null) {
+            for (Chave chave : chavesNome(novo)) {
+                nomes = inserir(nomes, chave);
+            }
+            documentos = inserir(documentos, chaveDocumento(novo));
+        }
+
+        Map<Long, ClienteDTO> porId = new HashMap<>(atual.porId());
+        if (novo != null) {
+            porId.put(clienteId, novo);
+        } else {
+            porId.remove(clienteId);
+        }
+        return new Snapshot(nomes, documentos, porId);
+    }
+
+    private static Chave[] inserir(Chave[] chaves, Chave chave) {
+        int posicao = Arrays.binarySearch(chaves, chave, ORDEM);
+        if (posicao >= 0) {
+            Chave[] copia = chaves.clone();
+            copia[posicao] = chave;
+            return copia;
+        }
+        int insercao = -posicao - 1;
+        Chave[] novo = new Chave[chaves.length + 1];
+        System.arraycopy(chaves, 0, novo, 0, insercao);
+        novo[insercao] = chave;
+        System.arraycopy(chaves, insercao, novo, insercao + 1, chaves.length - insercao);
+        return novo;
+    }
+
+    private static Chave[] remover(Chave[] chaves, Chave chave) {
+        int posicao = Arrays.binarySearch(chaves, chave, ORDEM);
+        if (posicao < 0) {
+            return chaves;
+        }
+        Chave[] novo = new Chave[chaves.length - 1];
+        System.arraycopy(chaves, 0, novo, 0, posicao);
+        System.arraycopy(chaves, posicao + 1, novo, posicao, chaves.length - posicao - 1);
+        return novo;
+    }
+
+    // Primeira posição cuja chave é >= prefixo
+    private static int primeiroComPrefixo(Chave[] chaves, String prefixo) {
+        int inicio = 0;
+        int fim = chaves.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (chaves[meio].texto().compareTo(prefixo) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private static List<Chave> chavesNome(ClienteDTO cliente) {
+        String nome = Cliente.normalizarNome(cliente.getNome());
+        List<Chave> chaves = new ArrayList<>(3);
+        chaves.add(new Chave(nome, cliente));
+        for (int espaco = nome.indexOf(' '); espaco >= 0; espaco = nome.indexOf(' ', espaco + 1)) {
+            chaves.add(new Chave(nome.substring(espaco + 1), cliente));
+        }
+        return chaves;
+    }
+
+    private static Chave chaveDocumento(ClienteDTO cliente) {
+        return new Chave(Cliente.somenteDigitos(cliente.getDocumento()), cliente);
+    }
+
+    private record Chave(String texto, ClienteDTO cliente) {
+    }
+
+    // cliente nulo indica remoção
+    private record Alteracao(Long clienteId, ClienteDTO cliente) {
+    }
+
+    private record Snapshot(Chave[] nomes, Chave[] documentos, Map<Long, ClienteDTO> porId) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.sistemaos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+
+/**
+ * Gera números de OS no formato {@code OS-2026-000123}, com numeração por ano.
+ *
+ * Cada nó reserva um bloco de números de uma sequence do banco por ano
+ * (a sequence avança de bloco em bloco) e distribui o bloco em memória,
+ * então só uma criação a cada bloco vai ao banco. Números de um bloco não
+ * usado até o fim (ex.: reinício da aplicação) são perdidos, mas nunca repetidos.
+ *
+ * O {@code nextval} roda na conexão da transação de quem chama (o PostgreSQL
+ * não desfaz {@code nextval} em rollback) e fora do lock: só a troca do bloco
+ * em memória é sincronizada, então nenhuma thread espera o lock segurando
+ * uma conexão enquanto outra espera por uma conexão livre.
+ */
+@Slf4j
+@Component
+public class NumeradorOrdemServico {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoBloco;
+
+    private int anoAtual;
+    private long proximo;
+    private long limite;
+    // Último ano cuja sequence já se sabe existir; anos até ele não executam DDL
+    private volatile int anoPreparado;
+
+    public NumeradorOrdemServico(JdbcTemplate jdbcTemplate,
+                                 @Value("${ordem-servico.numero.bloco:50}") int tamanhoBloco) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Cria as sequences do ano atual e do próximo fora de qualquer transação
+     * de negócio, para que a criação concorrente entre nós não aborte uma OS.
+     * Depois disso, só uma aplicação rodando há mais de um ano executa DDL
+     * ao gerar um número.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepararSequences() {
+        int ano = Year.now().getValue();
+        criarSequence(ano);
+        criarSequence(ano + 1);
+        anoPreparado = ano + 1;
+    }
+
+    public String proximoNumero() {
+        int ano = Year.now().getValue();
+        synchronized (this) {
+            if (ano == anoAtual && proximo < limite) {
+                return formatar(ano, proximo++);
+            }
+        }
+
+        long inicio = reservarBloco(ano);
+        synchronized (this) {
+            if (ano > anoAtual || (ano == anoAtual && proximo >= limite)) {
+                anoAtual = ano;
+                proximo = inicio;
+                limite = inicio + tamanhoBloco;
+                log.info("Reservado bloco de números de OS {}: {} a {}", ano, proximo, limite - 1);
+            } else if (ano != anoAtual) {
+                // Virada de ano: outra thread já passou para o ano seguinte
+                return formatar(ano, inicio);
+            }
+            // Se outra thread trocou o bloco antes, o bloco reservado aqui é descartado
+            return formatar(ano, proximo++);
+        }
+    }
+
+    private long reservarBloco(int ano) {
+        String sequence = nomeSequence(ano);
+        if (ano > anoPreparado) {
+            // Aplicação rodando há mais de um ano (ou chamada antes da inicialização terminar)
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH 1 INCREMENT BY " + tamanhoBloco);
+            anoPreparado = ano;
+        }
+        return jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+    }
+
+    private void criarSequence(int ano) {
+        String sequence = nomeSequence(ano);
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH 1 INCREMENT BY " + tamanhoBloco);
+        } catch (DataAccessException e) {
+            // Outro nó criou a sequence ao mesmo tempo
+            log.debug("Sequence {} já existente: {}", sequence, e.getMessage());
+        }
+    }
+
+    private static String formatar(int ano, long numero) {
+        return String.format("OS-%d-%06d", ano, numero);
+    }
+
+    private static String nomeSequence(int ano) {
+        return "ordem_servico_numero_" + ano + "_seq";
+    }
+}
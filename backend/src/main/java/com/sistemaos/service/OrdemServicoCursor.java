@@ -0,0 +1,25 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição de continuação da paginação por chave: a última OS entregue,
+ * identificada por (dataAbertura, id). É trafegada como token opaco.
+ */
+record OrdemServicoCursor(LocalDateTime dataAbertura, Long id) {
+
+    static OrdemServicoCursor de(OrdemServicoResumo os) {
+        return new OrdemServicoCursor(os.dataAbertura(), os.id());
+    }
+
+    String codificar() {
+        return PaginacaoCursor.codificar(dataAbertura, id);
+    }
+
+    static OrdemServicoCursor decodificar(String token) {
+        return PaginacaoCursor.decodificar(token,
+                (dataAbertura, id) -> new OrdemServicoCursor(LocalDateTime.parse(dataAbertura), id));
+    }
+}
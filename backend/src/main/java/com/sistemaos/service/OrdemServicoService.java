@@ -3,13 +3,17 @@ package com.sistemaos.service;
 import com.sistemaos.domain.dto.OrdemServicoDTO;
 import com.sistemaos.domain.dto.OrdemServicoCreateDTO;
 import com.sistemaos.domain.dto.OrdemServicoUpdateDTO;
+import com.sistemaos.domain.dto.PaginaCursorDTO;
 import com.sistemaos.domain.dto.RelatorioDTO;
-import com.sistemaos.domain.dto.UsuarioDTO;
 import com.sistemaos.domain.dto.EquipamentoUsadoDTO;
+import com.sistemaos.domain.entity.Cliente;
 import com.sistemaos.domain.entity.EquipamentoUsado;
 import com.sistemaos.domain.entity.OrdemServico;
 import com.sistemaos.domain.entity.Produto;
 import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+import com.sistemaos.domain.projection.ResumoPeriodo;
+import com.sistemaos.repository.ClienteRepository;
 import com.sistemaos.repository.EquipamentoUsadoRepository;
 import com.sistemaos.repository.OrdemServicoRepository;
 import com.sistemaos.repository.ProdutoRepository;
@@ -17,7 +21,9 @@ import com.sistemaos.repository.UsuarioRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,17 +32,24 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrdemServicoService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final OrdemServicoRepository ordemServicoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
     private final EquipamentoUsadoRepository equipamentoUsadoRepository;
-    private final PDFService pdfService;
+    private final GeracaoPdfService geracaoPdfService;
+    private final DashboardStatsService dashboardStatsService;
+    private final NumeradorOrdemServico numeradorOrdemServico;
 
     @Transactional
     public OrdemServicoDTO criar(OrdemServicoCreateDTO dto) {
@@ -44,11 +57,12 @@ public class OrdemServicoService {
                 .orElseThrow(() -> new EntityNotFoundException("Responsável não encontrado"));
 
         OrdemServico ordemServico = OrdemServico.builder()
-                .numero(gerarNumeroOS())
+                .numero(numeradorOrdemServico.proximoNumero())
                 .nomeCliente(dto.getNomeCliente())
                 .documentoCliente(dto.getDocumentoCliente())
                 .telefoneCliente(dto.getTelefoneCliente())
                 .enderecoCliente(dto.getEnderecoCliente())
+                .cliente(clientePorDocumento(dto.getDocumentoCliente()))
                 .responsavel(responsavel)
                 .dataAbertura(LocalDateTime.now())
                 .status(OrdemServico.StatusOrdemServico.ABERTA)
@@ -67,36 +81,112 @@ public class OrdemServicoService {
             processarEquipamentosUsados(ordemServico, dto.getEquipamentosUsados());
         }
 
+        dashboardStatsService.registrarOrdem(null, null, ordemServico.getStatus(), ordemServico.getValorTotal());
         return converterParaDTO(ordemServico);
     }
 
     @Transactional(readOnly = true)
     public OrdemServicoDTO buscarPorId(Long id) {
-        OrdemServico ordemServico = ordemServicoRepository.findById(id)
+        OrdemServico ordemServico = ordemServicoRepository.findDetalhadaById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada"));
         return converterParaDTO(ordemServico);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrdemServicoDTO> buscarPorResponsavel(Long responsavelId, Pageable pageable) {
-        Usuario responsavel = usuarioRepository.findById(responsavelId)
-                .orElseThrow(() -> new EntityNotFoundException("Responsável não encontrado"));
-        return ordemServicoRepository.findByResponsavel(responsavel, pageable)
-                .map(this::converterParaDTO);
+    public Page<OrdemServicoResumo> buscarPorResponsavel(Long responsavelId, Pageable pageable) {
+        if (!usuarioRepository.existsById(responsavelId)) {
+            throw new EntityNotFoundException("Responsável não encontrado");
+        }
+        return ordemServicoRepository.listarResumosPorResponsavel(responsavelId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrdemServicoResumo> listarTodas(Pageable pageable) {
+        return ordemServicoRepository.listarResumos(pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrdemServicoDTO> listarTodas(Pageable pageable) {
-        return ordemServicoRepository.findAll(pageable)
-                .map(this::converterParaDTO);
+    public PaginaCursorDTO<OrdemServicoResumo> listarPorCursor(String cursor, int tamanho) {
+        Pageable limite = limitarPagina(tamanho);
+        Slice<OrdemServicoResumo> pagina;
+        if (cursor == null || cursor.isBlank()) {
+            pagina = ordemServicoRepository.buscarPrimeiraPagina(limite);
+        } else {
+            OrdemServicoCursor posicao = OrdemServicoCursor.decodificar(cursor);
+            pagina = ordemServicoRepository.buscarAposCursor(posicao.dataAbertura(), posicao.id(), limite);
+        }
+        return converterPagina(pagina);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<OrdemServicoResumo> buscarPorResponsavelPorCursor(Long responsavelId, String cursor, int tamanho) {
+        Pageable limite = limitarPagina(tamanho);
+        Slice<OrdemServicoResumo> pagina;
+        if (cursor == null || cursor.isBlank()) {
+            if (!usuarioRepository.existsById(responsavelId)) {
+                throw new EntityNotFoundException("Responsável não encontrado");
+            }
+            pagina = ordemServicoRepository.buscarPrimeiraPaginaPorResponsavel(responsavelId, limite);
+        } else {
+            OrdemServicoCursor posicao = OrdemServicoCursor.decodificar(cursor);
+            pagina = ordemServicoRepository.buscarAposCursorPorResponsavel(
+                    responsavelId, posicao.dataAbertura(), posicao.id(), limite);
+        }
+        return converterPagina(pagina);
+    }
+
+    /**
+     * Histórico de OS do cliente, da mais recente para a mais antiga, pelo
+     * índice {@code (cliente_id, data_abertura, id)}.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<OrdemServicoResumo> buscarPorClientePorCursor(Long clienteId, String cursor, int tamanho) {
+        Pageable limite = limitarPagina(tamanho);
+        Slice<OrdemServicoResumo> pagina;
+        if (cursor == null || cursor.isBlank()) {
+            if (!clienteRepository.existsById(clienteId)) {
+                throw new EntityNotFoundException("Cliente não encontrado");
+            }
+            pagina = ordemServicoRepository.buscarPrimeiraPaginaPorCliente(clienteId, limite);
+        } else {
+            OrdemServicoCursor posicao = OrdemServicoCursor.decodificar(cursor);
+            pagina = ordemServicoRepository.buscarAposCursorPorCliente(
+                    clienteId, posicao.dataAbertura(), posicao.id(), limite);
+        }
+        return converterPagina(pagina);
+    }
+
+    private Cliente clientePorDocumento(String documento) {
+        String normalizado = Cliente.normalizarDocumento(documento);
+        if (normalizado == null) {
+            return null;
+        }
+        return clienteRepository.buscarIdPorDocumentoNormalizado(normalizado)
+                .map(clienteRepository::getReferenceById)
+                .orElse(null);
+    }
+
+    private Pageable limitarPagina(int tamanho) {
+        return PageRequest.of(0, Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA)));
+    }
+
+    private PaginaCursorDTO<OrdemServicoResumo> converterPagina(Slice<OrdemServicoResumo> pagina) {
+        return PaginacaoCursor.pagina(pagina, os -> OrdemServicoCursor.de(os).codificar());
     }
 
     @Transactional
     public OrdemServicoDTO atualizar(Long id, OrdemServicoUpdateDTO dto) {
-        OrdemServico ordemServico = ordemServicoRepository.findById(id)
+        OrdemServico ordemServico = ordemServicoRepository.findDetalhadaById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada"));
 
+        OrdemServico.StatusOrdemServico statusAnterior = ordemServico.getStatus();
+        BigDecimal valorAnterior = ordemServico.getValorTotal();
+
         ordemServico.setNomeCliente(dto.getNomeCliente());
+        if (!Cliente.somenteDigitos(dto.getDocumentoCliente())
+                .equals(Cliente.somenteDigitos(ordemServico.getDocumentoCliente()))) {
+            ordemServico.setCliente(clientePorDocumento(dto.getDocumentoCliente()));
+        }
         ordemServico.setDocumentoCliente(dto.getDocumentoCliente());
         ordemServico.setTelefoneCliente(dto.getTelefoneCliente());
         ordemServico.setEnderecoCliente(dto.getEnderecoCliente());
@@ -119,10 +209,14 @@ public class OrdemServicoService {
         }
 
         ordemServico = ordemServicoRepository.save(ordemServico);
-        
-        // Se a OS foi concluída, gera o PDF
-        if (dto.getStatus() == OrdemServico.StatusOrdemServico.CONCLUIDA) {
-            pdfService.gerarPDF(ordemServico.getId());
+        dashboardStatsService.registrarOrdem(statusAnterior, valorAnterior,
+                ordemServico.getStatus(), ordemServico.getValorTotal());
+
+        // O PDF da OS concluída é gerado em segundo plano, depois do commit
+        if (ordemServico.getStatus() == OrdemServico.StatusOrdemServico.CONCLUIDA) {
+            geracaoPdfService.agendar(ordemServico.getId());
+        } else {
+            geracaoPdfService.invalidar(ordemServico.getId());
         }
         
         return converterParaDTO(ordemServico);
@@ -130,32 +224,40 @@ public class OrdemServicoService {
 
     @Transactional(readOnly = true)
     public RelatorioDTO gerarRelatorio(LocalDateTime inicio, LocalDateTime fim) {
+        ResumoPeriodo resumo = ordemServicoRepository.resumirPeriodo(inicio, fim);
         List<OrdemServico> ordens = ordemServicoRepository.findByPeriodo(inicio, fim);
-        
-        BigDecimal valorTotal = ordens.stream()
-                .map(OrdemServico::getValorTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return RelatorioDTO.builder()
                 .dataInicio(inicio)
                 .dataFim(fim)
-                .totalOS((long) ordens.size())
-                .valorTotal(valorTotal)
+                .totalOS(resumo.quantidade())
+                .valorTotal(resumo.valorTotalOuZero())
+                .porStatus(ordemServicoRepository.resumirPorStatusNoPeriodo(inicio, fim))
+                .porResponsavel(ordemServicoRepository.resumirPorResponsavelNoPeriodo(inicio, fim))
                 .ordens(ordens.stream().map(this::converterParaDTO).collect(Collectors.toList()))
                 .build();
     }
 
-    private String gerarNumeroOS() {
-        return String.format("OS%d%d", System.currentTimeMillis(), 
-                ordemServicoRepository.count() + 1);
-    }
-
     private void processarEquipamentosUsados(OrdemServico ordemServico, List<EquipamentoUsadoDTO> equipamentosUsadosDTO) {
+        // Resolve todos os produtos da OS em uma única consulta
+        Set<Long> produtoIds = equipamentosUsadosDTO.stream()
+                .map(EquipamentoUsadoDTO::getProdutoId)
+                .collect(Collectors.toSet());
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<Long> naoEncontrados = produtoIds.stream()
+                .filter(id -> !produtos.containsKey(id))
+                .sorted()
+                .collect(Collectors.toList());
+        if (!naoEncontrados.isEmpty()) {
+            throw new EntityNotFoundException("Produto não encontrado: " + naoEncontrados);
+        }
+
         BigDecimal valorTotal = BigDecimal.ZERO;
-        
+
         for (EquipamentoUsadoDTO equipDTO : equipamentosUsadosDTO) {
-            Produto produto = produtoRepository.findById(equipDTO.getProdutoId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + equipDTO.getProdutoId()));
+            Produto produto = produtos.get(equipDTO.getProdutoId());
 
             EquipamentoUsado equipUsado = EquipamentoUsado.builder()
                     .ordemServico(ordemServico)
@@ -173,62 +275,18 @@ public class OrdemServicoService {
     }
 
     private OrdemServicoDTO converterParaDTO(OrdemServico os) {
-        return OrdemServicoDTO.builder()
-                .id(os.getId())
-                .numero(os.getNumero())
-                .nomeCliente(os.getNomeCliente())
-                .documentoCliente(os.getDocumentoCliente())
-                .telefoneCliente(os.getTelefoneCliente())
-                .enderecoCliente(os.getEnderecoCliente())
-                .responsavel(converterUsuarioParaDTO(os.getResponsavel()))
-                .dataAbertura(os.getDataAbertura())
-                .dataFechamento(os.getDataFechamento())
-                .status(os.getStatus())
-                .descricaoProblema(os.getDescricaoProblema())
-                .solucao(os.getSolucao())
-                .valorTotal(os.getValorTotal())
-                .equipamento(os.getEquipamento())
-                .marca(os.getMarca())
-                .modelo(os.getModelo())
-                .numeroSerie(os.getNumeroSerie())
-                .equipamentosUsados(os.getEquipamentosUsados().stream()
-                    .map(this::converterEquipamentoUsadoParaDTO)
-                    .collect(Collectors.toList()))
-                .build();
-    }
-
-    private EquipamentoUsadoDTO converterEquipamentoUsadoParaDTO(EquipamentoUsado equipamento) {
-        return EquipamentoUsadoDTO.builder()
-                .produtoId(equipamento.getProduto().getId())
-                .nome(equipamento.getProduto().getNome())
-                .quantidade(equipamento.getQuantidade())
-                .valorUnitario(equipamento.getValorUnitario())
-                .valorTotal(equipamento.getValorTotal())
-                .build();
-    }
-
-    private UsuarioDTO converterUsuarioParaDTO(Usuario usuario) {
-        return UsuarioDTO.builder()
-                .id(usuario.getId())
-                .nome(usuario.getNome())
-                .email(usuario.getEmail())
-                .tipo(usuario.getTipo())
-                .telefone(usuario.getTelefone())
-                .build();
+        return OrdemServicoDTO.fromEntity(os, os.getEquipamentosUsados().stream()
+                .map(EquipamentoUsadoDTO::fromEntity)
+                .collect(Collectors.toList()));
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getStatusCount() {
-        Map<OrdemServico.StatusOrdemServico, Long> countByStatus = ordemServicoRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        OrdemServico::getStatus,
-                        Collectors.counting()
-                ));
-        
-        return countByStatus.entrySet().stream()
-                .map(entry -> {
+        return ordemServicoRepository.contarPorStatus().stream()
+                .map(contagem -> {
                     Map<String, Object> result = new java.util.HashMap<>();
-                    result.put("status", entry.getKey());
-                    result.put("count", entry.getValue());
+                    result.put("status", contagem.status());
+                    result.put("count", contagem.quantidade());
                     return result;
                 })
                 .collect(Collectors.toList());
@@ -4,30 +4,41 @@ import com.lowagie.text.*;
 import com.lowagie.text.pdf.*;
 import com.sistemaos.domain.entity.OrdemServico;
 import com.sistemaos.domain.entity.EquipamentoUsado;
-import com.sistemaos.repository.OrdemServicoRepository;
-import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.sistemaos.service.EstiloPdf.*;
 
 @Service
-@RequiredArgsConstructor
 public class PDFService {
 
-    private final OrdemServicoRepository ordemServicoRepository;
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", new Locale("pt", "BR"));
-
-    public byte[] gerarPDF(Long ordemServicoId) {
+    // Altere quando o layout do PDF mudar, para invalidar os PDFs em cache
+    private static final String VERSAO_LAYOUT = "3";
+
+    // Células fixas do layout, criadas uma única vez
+    private static final List<PdfPCell> CABECALHO_EQUIPAMENTOS = List.of(
+            celulaCabecalho("Produto"),
+            celulaCabecalho("Quantidade"),
+            celulaCabecalho("Valor Unitário"),
+            celulaCabecalho("Valor Total"));
+
+    /**
+     * Renderiza uma OS já carregada direto no stream de saída, à medida que
+     * as páginas são montadas. O stream não é fechado.
+     */
+    public void gerarPDF(OrdemServico os, OutputStream saida) {
         try {
-            OrdemServico os = ordemServicoRepository.findById(ordemServicoId)
-                    .orElseThrow(() -> new EntityNotFoundException("Ordem de Serviço não encontrada"));
-
             Document document = new Document(PageSize.A4);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, saida);
+            writer.setCloseStream(false);
+            writer.setPageEvent(RodapePdf.INSTANCIA);
 
             document.open();
             adicionarCabecalho(document, os);
@@ -36,56 +47,79 @@ public class PDFService {
             adicionarDescricaoServico(document, os);
             adicionarEquipamentosUsados(document, os);
             document.close();
-
-            return baos.toByteArray();
-        } catch (EntityNotFoundException e) {
-            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao gerar PDF: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Hash de tudo o que aparece no PDF da OS. Muda sempre que o documento
+     * gerado mudaria, então serve como chave de cache e ETag.
+     */
+    public String calcularVersao(OrdemServico os) {
+        StringBuilder conteudo = new StringBuilder(VERSAO_LAYOUT);
+        Stream.of(os.getId(), os.getNumero(), os.getNomeCliente(), os.getDocumentoCliente(),
+                        os.getTelefoneCliente(), os.getEnderecoCliente(), os.getEquipamento(), os.getMarca(),
+                        os.getModelo(), os.getNumeroSerie(), os.getDataAbertura(), os.getDataFechamento(),
+                        os.getStatus(), os.getDescricaoProblema(), os.getSolucao(), os.getValorTotal())
+                .forEach(valor -> conteudo.append('\u0000').append(valor));
+        if (os.getEquipamentosUsados() != null) {
+            for (EquipamentoUsado equip : os.getEquipamentosUsados()) {
+                conteudo.append('\u0000').append(equip.getProduto().getNome())
+                        .append('\u0000').append(equip.getQuantidade())
+                        .append('\u0000').append(equip.getValorUnitario())
+                        .append('\u0000').append(equip.getValorTotal());
+            }
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void adicionarCabecalho(Document document, OrdemServico os) throws DocumentException {
         Paragraph header = new Paragraph();
         header.setAlignment(Element.ALIGN_CENTER);
-        header.add(new Chunk("ORDEM DE SERVIÇO\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16)));
-        header.add(new Chunk("Nº " + os.getNumero() + "\n\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14)));
+        header.add(new Chunk("ORDEM DE SERVIÇO\n", FONTE_TITULO));
+        header.add(new Chunk("Nº " + os.getNumero() + "\n\n", FONTE_NUMERO));
         document.add(header);
     }
 
     private void adicionarInformacoesCliente(Document document, OrdemServico os) throws DocumentException {
         Paragraph clienteInfo = new Paragraph();
-        clienteInfo.add(new Chunk("INFORMAÇÕES DO CLIENTE\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-        clienteInfo.add(String.format("Nome: %s\n", os.getNomeCliente()));
-        clienteInfo.add(String.format("Documento: %s\n", os.getDocumentoCliente()));
-        clienteInfo.add(String.format("Telefone: %s\n", os.getTelefoneCliente()));
-        clienteInfo.add(String.format("Endereço: %s\n\n", os.getEnderecoCliente()));
+        clienteInfo.add(new Chunk("INFORMAÇÕES DO CLIENTE\n", FONTE_SECAO));
+        clienteInfo.add("Nome: " + os.getNomeCliente() + "\n");
+        clienteInfo.add("Documento: " + os.getDocumentoCliente() + "\n");
+        clienteInfo.add("Telefone: " + os.getTelefoneCliente() + "\n");
+        clienteInfo.add("Endereço: " + os.getEnderecoCliente() + "\n\n");
         document.add(clienteInfo);
     }
 
     private void adicionarInformacoesEquipamento(Document document, OrdemServico os) throws DocumentException {
         Paragraph equipInfo = new Paragraph();
-        equipInfo.add(new Chunk("INFORMAÇÕES DO EQUIPAMENTO\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-        equipInfo.add(String.format("Equipamento: %s\n", os.getEquipamento()));
-        equipInfo.add(String.format("Marca: %s\n", os.getMarca()));
-        equipInfo.add(String.format("Modelo: %s\n", os.getModelo()));
-        equipInfo.add(String.format("Número de Série: %s\n\n", os.getNumeroSerie()));
+        equipInfo.add(new Chunk("INFORMAÇÕES DO EQUIPAMENTO\n", FONTE_SECAO));
+        equipInfo.add("Equipamento: " + os.getEquipamento() + "\n");
+        equipInfo.add("Marca: " + os.getMarca() + "\n");
+        equipInfo.add("Modelo: " + os.getModelo() + "\n");
+        equipInfo.add("Número de Série: " + os.getNumeroSerie() + "\n\n");
         document.add(equipInfo);
     }
 
     private void adicionarDescricaoServico(Document document, OrdemServico os) throws DocumentException {
         Paragraph servicoInfo = new Paragraph();
-        servicoInfo.add(new Chunk("DESCRIÇÃO DO SERVIÇO\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-        servicoInfo.add(String.format("Data de Abertura: %s\n", os.getDataAbertura().format(FORMATTER)));
+        servicoInfo.add(new Chunk("DESCRIÇÃO DO SERVIÇO\n", FONTE_SECAO));
+        servicoInfo.add("Data de Abertura: " + os.getDataAbertura().format(FORMATTER) + "\n");
         if (os.getDataFechamento() != null) {
-            servicoInfo.add(String.format("Data de Fechamento: %s\n", os.getDataFechamento().format(FORMATTER)));
+            servicoInfo.add("Data de Fechamento: " + os.getDataFechamento().format(FORMATTER) + "\n");
         }
-        servicoInfo.add(String.format("Status: %s\n", os.getStatus()));
-        servicoInfo.add(String.format("Problema Relatado: %s\n", os.getDescricaoProblema()));
+        servicoInfo.add("Status: " + os.getStatus() + "\n");
+        servicoInfo.add("Problema Relatado: " + os.getDescricaoProblema() + "\n");
         if (os.getSolucao() != null) {
-            servicoInfo.add(String.format("Solução: %s\n", os.getSolucao()));
+            servicoInfo.add("Solução: " + os.getSolucao() + "\n");
         }
-        servicoInfo.add(String.format("Valor Total: R$ %.2f\n\n", os.getValorTotal()));
+        servicoInfo.add("Valor Total: " + moeda(os.getValorTotal()) + "\n\n");
         document.add(servicoInfo);
     }
 
@@ -94,29 +128,27 @@ public class PDFService {
             return;
         }
 
-        Paragraph equipUsadosHeader = new Paragraph();
-        equipUsadosHeader.add(new Chunk("EQUIPAMENTOS/PEÇAS UTILIZADOS\n", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
-        document.add(equipUsadosHeader);
+        document.add(new Paragraph(new Chunk("EQUIPAMENTOS/PEÇAS UTILIZADOS\n", FONTE_SECAO)));
 
         PdfPTable table = new PdfPTable(4);
         table.setWidthPercentage(100);
         table.setSpacingBefore(10f);
         table.setSpacingAfter(10f);
 
-        // Cabeçalho da tabela
-        table.addCell(new PdfPCell(new Phrase("Produto", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10))));
-        table.addCell(new PdfPCell(new Phrase("Quantidade", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10))));
-        table.addCell(new PdfPCell(new Phrase("Valor Unitário", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10))));
-        table.addCell(new PdfPCell(new Phrase("Valor Total", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10))));
+        // Cabeçalho da tabela, repetido em cada página
+        for (PdfPCell celula : CABECALHO_EQUIPAMENTOS) {
+            table.addCell(celula);
+        }
+        table.setHeaderRows(1);
 
         // Dados dos equipamentos
         for (EquipamentoUsado equip : os.getEquipamentosUsados()) {
             table.addCell(equip.getProduto().getNome());
             table.addCell(String.valueOf(equip.getQuantidade()));
-            table.addCell(String.format("R$ %.2f", equip.getValorUnitario()));
-            table.addCell(String.format("R$ %.2f", equip.getValorTotal()));
+            table.addCell(moeda(equip.getValorUnitario()));
+            table.addCell(moeda(equip.getValorTotal()));
         }
 
         document.add(table);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.dto.PaginaCursorDTO;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Codificação dos cursores de paginação por chave, no formato
+ * {@code chave|id} em Base64 sem padding, e montagem da página de resposta.
+ */
+final class PaginacaoCursor {
+
+    private PaginacaoCursor() {
+    }
+
+    static String codificar(Object chave, Long id) {
+        String valor = chave + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o token e monta o cursor a partir da chave e do id. Qualquer
+     * falha (Base64, separador, id ou conversão da chave) vira
+     * {@code IllegalArgumentException("Cursor inválido")}.
+     */
+    static <C> C decodificar(String token, BiFunction<String, Long, C> cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O id vem por último, então o separador é o último '|' (a chave pode conter '|')
+            int separador = valor.lastIndexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return cursor.apply(valor.substring(0, separador), Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    static <T> PaginaCursorDTO<T> pagina(Slice<T> pagina, Function<T, String> cursorDe) {
+        List<T> conteudo = pagina.getContent();
+        String proximoCursor = pagina.hasNext() && !conteudo.isEmpty()
+                ? cursorDe.apply(conteudo.get(conteudo.size() - 1))
+                : null;
+        return PaginaCursorDTO.<T>builder()
+                .conteudo(conteudo)
+                .tamanho(conteudo.size())
+                .temProxima(pagina.hasNext())
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+}
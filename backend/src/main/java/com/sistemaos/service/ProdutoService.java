@@ -10,20 +10,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final DashboardStatsService dashboardStatsService;
 
     @Transactional(readOnly = true)
     public List<ProdutoDTO> findAll() {
-        return produtoRepository.findAll()
-                .stream()
-                .map(ProdutoDTO::fromEntity)
-                .collect(Collectors.toList());
+        return produtoRepository.listarDTOs();
     }
 
     @Transactional(readOnly = true)
@@ -44,6 +41,7 @@ public class ProdutoService {
         produto.setCategoria(dto.getCategoria());
 
         produto = produtoRepository.save(produto);
+        dashboardStatsService.registrarProduto(null, produto.getQuantidadeEstoque());
         return ProdutoDTO.fromEntity(produto);
     }
 
@@ -52,6 +50,7 @@ public class ProdutoService {
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
 
+        Integer quantidadeAnterior = produto.getQuantidadeEstoque();
         produto.setNome(dto.getNome());
         produto.setDescricao(dto.getDescricao());
         produto.setPreco(dto.getPreco());
@@ -60,14 +59,15 @@ public class ProdutoService {
         produto.setCategoria(dto.getCategoria());
 
         produto = produtoRepository.save(produto);
+        dashboardStatsService.registrarProduto(quantidadeAnterior, produto.getQuantidadeEstoque());
         return ProdutoDTO.fromEntity(produto);
     }
 
     @Transactional
     public void delete(Long id) {
-        if (!produtoRepository.existsById(id)) {
-            throw new EntityNotFoundException("Produto não encontrado");
-        }
-        produtoRepository.deleteById(id);
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
+        produtoRepository.delete(produto);
+        dashboardStatsService.registrarProduto(produto.getQuantidadeEstoque(), null);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.sistemaos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaos.domain.dto.EquipamentoUsadoDTO;
+import com.sistemaos.domain.dto.OrdemServicoDTO;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.projection.EquipamentoUsadoResumo;
+import com.sistemaos.repository.EquipamentoUsadoRepository;
+import com.sistemaos.repository.OrdemServicoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelatorioExportService {
+
+    private static final int LINHAS_POR_BLOCO = 200;
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final EquipamentoUsadoRepository equipamentoUsadoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escreve as OS do período diretamente no stream de saída, lendo-as por
+     * cursor e desanexando cada entidade depois de lida, de modo que a
+     * memória usada não depende do tamanho do período. No NDJSON os
+     * equipamentos usados são carregados em uma consulta por bloco de OS.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(LocalDateTime inicio, LocalDateTime fim, FormatoArquivo formato, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (formato == FormatoArquivo.CSV) {
+            writer.write("id;numero;status;dataAbertura;dataFechamento;nomeCliente;documentoCliente;responsavel;equipamento;valorTotal\n");
+            writer.flush();
+        }
+
+        long linhas = 0;
+        List<OrdemServico> bloco = new ArrayList<>(LINHAS_POR_BLOCO);
+        try (Stream<OrdemServico> ordens = ordemServicoRepository.streamByPeriodo(inicio, fim)) {
+            Iterator<OrdemServico> it = ordens.iterator();
+            while (it.hasNext()) {
+                OrdemServico os = it.next();
+                entityManager.detach(os);
+                if (formato == FormatoArquivo.CSV) {
+                    escreverCsv(writer, os);
+                    // O primeiro registro é enviado imediatamente; depois, em blocos
+                    if (++linhas == 1 || linhas % LINHAS_POR_BLOCO == 0) {
+                        writer.flush();
+                    }
+                } else {
+                    bloco.add(os);
+                    // O primeiro bloco tem uma OS só, para o primeiro registro sair imediatamente
+                    if (bloco.size() == (linhas == 0 ? 1 : LINHAS_POR_BLOCO)) {
+                        linhas += escreverNdjson(writer, bloco);
+                        bloco.clear();
+                    }
+                }
+            }
+        }
+        if (!bloco.isEmpty()) {
+            linhas += escreverNdjson(writer, bloco);
+        }
+        writer.flush();
+        log.info("Relatório exportado em {}: {} OS entre {} e {}", formato, linhas, inicio, fim);
+    }
+
+    private int escreverNdjson(Writer writer, List<OrdemServico> bloco) throws IOException {
+        Map<Long, List<EquipamentoUsadoDTO>> equipamentos = equipamentoUsadoRepository
+                .listarPorOrdens(bloco.stream().map(OrdemServico::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(EquipamentoUsadoResumo::ordemServicoId,
+                        Collectors.mapping(EquipamentoUsadoResumo::paraDTO, Collectors.toList())));
+        for (OrdemServico os : bloco) {
+            OrdemServicoDTO dto = OrdemServicoDTO.fromEntity(os, equipamentos.getOrDefault(os.getId(), List.of()));
+            writer.write(objectMapper.writeValueAsString(dto));
+            writer.write('\n');
+        }
+        writer.flush();
+        return bloco.size();
+    }
+
+    private void escreverCsv(Writer writer, OrdemServico os) throws IOException {
+        writer.write(String.valueOf(os.getId()));
+        writer.write(';');
+        writer.write(campoCsv(os.getNumero()));
+        writer.write(';');
+        writer.write(os.getStatus().name());
+        writer.write(';');
+        writer.write(campoCsv(os.getDataAbertura()));
+        writer.write(';');
+        writer.write(campoCsv(os.getDataFechamento()));
+        writer.write(';');
+        writer.write(campoCsv(os.getNomeCliente()));
+        writer.write(';');
+        writer.write(campoCsv(os.getDocumentoCliente()));
+        writer.write(';');
+        writer.write(campoCsv(os.getResponsavel() != null ? os.getResponsavel().getNome() : null));
+        writer.write(';');
+        writer.write(campoCsv(os.getEquipamento()));
+        writer.write(';');
+        writer.write(campoCsv(os.getValorTotal()));
+        writer.write('\n');
+    }
+
+    private static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(';') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sistemaos.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.ColumnText;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfPageEventHelper;
+import com.lowagie.text.pdf.PdfWriter;
+
+import static com.sistemaos.service.EstiloPdf.FONTE_RODAPE;
+
+/**
+ * Rodapé das páginas da OS: texto fixo à esquerda e número da página à
+ * direita. Não guarda estado, então uma instância serve a todos os
+ * documentos e threads; a frase fixa é montada uma única vez.
+ */
+final class RodapePdf extends PdfPageEventHelper {
+
+    static final RodapePdf INSTANCIA = new RodapePdf();
+
+    private static final Phrase TEXTO_FIXO = new Phrase("Sistema OS - documento gerado automaticamente", FONTE_RODAPE);
+    private static final float DISTANCIA_MARGEM = 18;
+
+    private RodapePdf() {
+    }
+
+    @Override
+    public void onEndPage(PdfWriter writer, Document document) {
+        PdfContentByte conteudo = writer.getDirectContent();
+        float y = document.bottom() - DISTANCIA_MARGEM;
+        ColumnText.showTextAligned(conteudo, Element.ALIGN_LEFT, TEXTO_FIXO, document.left(), y, 0);
+        ColumnText.showTextAligned(conteudo, Element.ALIGN_RIGHT,
+                new Phrase("Página " + writer.getPageNumber(), FONTE_RODAPE), document.right(), y, 0);
+    }
+}
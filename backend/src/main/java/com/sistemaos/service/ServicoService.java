@@ -10,7 +10,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ServicoService {
@@ -23,9 +22,7 @@ public class ServicoService {
 
     @Transactional(readOnly = true)
     public List<ServicoDTO> findAll() {
-        return servicoRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return servicoRepository.listarDTOs();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,141 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.dto.TokenDTO;
+import com.sistemaos.domain.entity.TokenRenovacao;
+import com.sistemaos.domain.entity.TokenRenovacao.MotivoRevogacao;
+import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.repository.TokenRenovacaoRepository;
+import com.sistemaos.security.JwtUtil;
+import com.sistemaos.security.RevogacaoTokens;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Emite o par access token (curto) + refresh token e cuida da renovação e
+ * do logout. Os refresh tokens são de uso único: cada renovação revoga o
+ * token usado, e reapresentar um token já renovado revoga todos os do
+ * usuário. Um token encerrado por logout só é recusado.
+ */
+@Slf4j
+@Service
+public class TokenRenovacaoService {
+
+    private final TokenRenovacaoRepository tokenRenovacaoRepository;
+    private final JwtUtil jwtUtil;
+    private final RevogacaoTokens revogacaoTokens;
+    private final long validadeMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    public TokenRenovacaoService(TokenRenovacaoRepository tokenRenovacaoRepository, JwtUtil jwtUtil,
+                                 RevogacaoTokens revogacaoTokens,
+                                 @Value("${jwt.refresh-expiration:604800000}") long validadeMillis) {
+        this.tokenRenovacaoRepository = tokenRenovacaoRepository;
+        this.jwtUtil = jwtUtil;
+        this.revogacaoTokens = revogacaoTokens;
+        this.validadeMillis = validadeMillis;
+    }
+
+    @Transactional
+    public TokenDTO emitir(Usuario usuario) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        tokenRenovacaoRepository.save(TokenRenovacao.builder()
+                .usuario(usuario)
+                .hash(hash(refreshToken))
+                .expiraEm(LocalDateTime.now().plus(Duration.ofMillis(validadeMillis)))
+                .build());
+
+        return TokenDTO.builder()
+            .token(jwtUtil.generateToken(usuario))
+            .refreshToken(refreshToken)
+            .tipo("Bearer")
+            .nome(usuario.getNome())
+            .email(usuario.getEmail())
+            .tipoUsuario(usuario.getTipo())
+            .id(usuario.getId())
+            .avatarUrl(AvatarService.url(usuario.getId(), usuario.getAvatarVersao()))
+            .build();
+    }
+
+    /**
+     * Troca um refresh token válido por um novo par de tokens.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenDTO renovar(String refreshToken) {
+        TokenRenovacao atual = tokenRenovacaoRepository.buscarPorHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+        Usuario usuario = atual.getUsuario();
+
+        if (!atual.isRevogado() && !atual.getExpiraEm().isAfter(LocalDateTime.now())) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+        // A leitura acima não trava a linha: quem perde a corrida pelo UPDATE relê o motivo gravado
+        if (atual.isRevogado() || tokenRenovacaoRepository.revogarSeAtivo(atual.getId(), MotivoRevogacao.RENOVADO) == 0) {
+            MotivoRevogacao motivo = atual.isRevogado()
+                    ? atual.getMotivoRevogacao()
+                    : tokenRenovacaoRepository.buscarMotivoRevogacao(atual.getId()).orElse(null);
+            if (motivo == MotivoRevogacao.ENCERRADO) {
+                // Logout normal (ex.: outra aba ainda com o token antigo), não é roubo
+                throw new BadCredentialsException("Sessão encerrada");
+            }
+            // Token já renovado: provavelmente copiado por terceiros, encerra todas as sessões do usuário
+            int revogados = tokenRenovacaoRepository.revogarDoUsuario(usuario.getId(), MotivoRevogacao.REUSO);
+            log.warn("Refresh token reutilizado para o usuário {}, {} tokens revogados", usuario.getEmail(), revogados);
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+
+        log.debug("Refresh token renovado para o usuário {}", usuario.getEmail());
+        return emitir(usuario);
+    }
+
+    /**
+     * Revoga o access token (se ainda válido) e o refresh token informados.
+     */
+    @Transactional
+    public void encerrar(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                revogacaoTokens.revogar(jwtUtil.validar(accessToken));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Access token inválido no logout: {}", e.getMessage());
+            }
+        }
+        if (refreshToken != null) {
+            tokenRenovacaoRepository.buscarPorHash(hash(refreshToken))
+                    .ifPresent(token -> tokenRenovacaoRepository.revogarSeAtivo(token.getId(), MotivoRevogacao.ENCERRADO));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.limpeza-ms:3600000}",
+               initialDelayString = "${seguranca.revogacao.limpeza-ms:3600000}")
+    public void removerExpirados() {
+        int removidos = tokenRenovacaoRepository.removerExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,14 +4,20 @@ import com.sistemaos.domain.dto.UsuarioDTO;
 import com.sistemaos.domain.dto.UsuarioCreateDTO;
 import com.sistemaos.domain.dto.UsuarioUpdateDTO;
 import com.sistemaos.domain.entity.Usuario;
+import com.sistemaos.repository.TokenRenovacaoRepository;
 import com.sistemaos.repository.UsuarioRepository;
+import com.sistemaos.security.CachePrincipal;
+import com.sistemaos.security.VersaoTokenUsuario;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,12 +25,22 @@ import java.util.stream.Collectors;
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
+    private final TokenRenovacaoRepository tokenRenovacaoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CachePrincipal cachePrincipal;
+    private final VersaoTokenUsuario versaoTokenUsuario;
+    private final AvatarService avatarService;
 
     @Transactional(readOnly = true)
     public List<UsuarioDTO> listarTodos() {
-        return usuarioRepository.findAll().stream()
-                .map(this::converterParaDTO)
+        return usuarioRepository.listarResumos().stream()
+                .map(resumo -> UsuarioDTO.builder()
+                        .id(resumo.id())
+                        .nome(resumo.nome())
+                        .email(resumo.email())
+                        .tipo(resumo.tipo())
+                        .telefone(resumo.telefone())
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -40,10 +56,12 @@ public class UsuarioService {
                 .senha(passwordEncoder.encode(dto.getSenha()))
                 .tipo(dto.getTipo())
                 .telefone(dto.getTelefone())
-                .avatar(dto.getAvatar())
                 .build();
 
         usuario = usuarioRepository.save(usuario);
+        if (dto.getAvatar() != null) {
+            avatarService.salvarBase64(usuario, dto.getAvatar());
+        }
         return converterParaDTO(usuario);
     }
 
@@ -58,22 +76,55 @@ public class UsuarioService {
     public UsuarioDTO atualizar(Long id, UsuarioUpdateDTO dto) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        cachePrincipal.invalidar(usuario.getEmail());
+
+        // O email é o subject do token: os tokens antigos deixam de valer
+        if (!usuario.getEmail().equals(dto.getEmail())) {
+            usuario.setVersaoToken(usuario.getVersaoToken() + 1);
+            versaoTokenUsuario.invalidar(usuario.getId());
+        }
 
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
         usuario.setTelefone(dto.getTelefone());
-        usuario.setAvatar(dto.getAvatar());
+        if (dto.getAvatar() != null) {
+            avatarService.salvarBase64(usuario, dto.getAvatar());
+        }
 
         usuario = usuarioRepository.save(usuario);
+        cachePrincipal.invalidar(usuario.getEmail());
         return converterParaDTO(usuario);
     }
 
     @Transactional
     public void deletar(Long id) {
-        if (!usuarioRepository.existsById(id)) {
-            throw new EntityNotFoundException("Usuário não encontrado");
-        }
-        usuarioRepository.deleteById(id);
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        // Sem refresh tokens a sessão termina quando o access token (curto) expira
+        tokenRenovacaoRepository.removerDoUsuario(usuario.getId());
+        avatarService.remover(usuario);
+        usuarioRepository.delete(usuario);
+        cachePrincipal.invalidar(usuario.getEmail());
+        versaoTokenUsuario.invalidar(usuario.getId());
+    }
+
+    @Transactional
+    public UsuarioDTO atualizarAvatar(Long id, InputStream imagem) throws IOException {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        avatarService.salvar(usuario, imagem);
+        return converterParaDTO(usuario);
+    }
+
+    @Transactional
+    public void removerAvatar(Long id) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        avatarService.remover(usuario);
+    }
+
+    public Map<String, Object> estatisticasCachePrincipal() {
+        return cachePrincipal.estatisticas();
     }
 
     private UsuarioDTO converterParaDTO(Usuario usuario) {
@@ -83,7 +134,7 @@ public class UsuarioService {
                 .email(usuario.getEmail())
                 .tipo(usuario.getTipo())
                 .telefone(usuario.getTelefone())
-                .avatar(usuario.getAvatar())
+                .avatarUrl(AvatarService.url(usuario.getId(), usuario.getAvatarVersao()))
                 .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.sistemaos.service;
+
+import com.sistemaos.repository.OrdemServicoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Preenche {@code documento_cliente_normalizado} e {@code cliente_id} das OS
+ * gravadas antes dessas colunas existirem, comparando os dígitos do documento
+ * da OS com {@code clientes.documento_normalizado}.
+ *
+ * Só visita OS com o documento normalizado ainda nulo (pelo índice da
+ * coluna), um lote por transação. Depois da primeira execução não sobra
+ * nenhuma, então nas inicializações seguintes é uma única consulta vazia: as
+ * OS novas já são gravadas normalizadas e os clientes criados depois são
+ * vinculados pelo {@link ClienteService}.
+ */
+@Slf4j
+@Component
+public class VinculoClienteOrdemServico {
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public VinculoClienteOrdemServico(OrdemServicoRepository ordemServicoRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${ordem-servico.vinculo-cliente.tamanho-lote:1000}") int tamanhoLote) {
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void vincular() {
+        long inicio = System.nanoTime();
+        long ultimoId = 0;
+        int normalizadas = 0;
+        while (true) {
+            List<Long> ids = ordemServicoRepository.listarIdsSemDocumentoNormalizado(ultimoId, tamanhoLote);
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> ordemServicoRepository.normalizarEVincular(ids));
+            normalizadas += ids.size();
+            ultimoId = ids.get(ids.size() - 1);
+        }
+        if (normalizadas > 0) {
+            log.info("Vínculo de OS com clientes: {} OS antigas normalizadas em {} ms",
+                    normalizadas, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+}
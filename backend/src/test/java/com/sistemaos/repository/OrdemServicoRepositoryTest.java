@@ -0,0 +1,158 @@
+package com.sistemaos.repository;
+
+import com.sistemaos.domain.entity.EquipamentoUsado;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.projection.EquipamentoUsadoResumo;
+import com.sistemaos.domain.projection.OrdemServicoResumo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de comandos SQL dos caminhos usados pelos endpoints de listagem,
+ * detalhe, relatório e exportação, medida pelas estatísticas do Hibernate
+ * sobre os dados do {@code data.sql}.
+ *
+ * Roda num PostgreSQL descartável do Testcontainers (os mapeamentos usam DDL
+ * específica dele, como {@code COLLATE "C"}); sem Docker disponível, os
+ * testes são ignorados em vez de falhar.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrdemServicoRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Autowired
+    private EquipamentoUsadoRepository equipamentoUsadoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void limparContexto() {
+        entityManager.clear();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    // GET /api/ordens-servico/cursor, primeira página e continuação
+    @Test
+    void listagemPorCursorUsaUmaConsultaPorPagina() {
+        Slice<OrdemServicoResumo> primeira = ordemServicoRepository.buscarPrimeiraPagina(PageRequest.of(0, 3));
+
+        assertThat(primeira.getContent()).hasSize(3);
+        assertThat(primeira.getContent()).allSatisfy(os -> assertThat(os.responsavelNome()).isNotNull());
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+
+        OrdemServicoResumo ultima = primeira.getContent().get(2);
+        Slice<OrdemServicoResumo> segunda = ordemServicoRepository.buscarAposCursor(
+                ultima.dataAbertura(), ultima.id(), PageRequest.of(0, 3));
+
+        assertThat(segunda.getContent()).isNotEmpty();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // GET /api/ordens-servico: página de projeções e a contagem do total
+    @Test
+    void listagemPaginadaUsaConsultaEContagem() {
+        Page<OrdemServicoResumo> pagina = ordemServicoRepository.listarResumos(PageRequest.of(0, 3));
+
+        assertThat(pagina.getContent()).hasSize(3);
+        assertThat(pagina.getTotalElements()).isGreaterThan(3);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // GET /api/ordens-servico/{id}
+    @Test
+    void detalheCarregaTudoEmUmaConsulta() {
+        Optional<OrdemServico> os = ordemServicoRepository.findDetalhadaById(3L);
+
+        assertThat(os).isPresent();
+        percorrer(List.of(os.get()));
+        assertThat(os.get().getEquipamentosUsados()).isNotEmpty();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // GET /api/ordens-servico/relatorio
+    @Test
+    void relatorioCarregaOrdensDoPeriodoEmUmaConsulta() {
+        LocalDateTime fim = LocalDateTime.now().plusDays(1);
+        List<OrdemServico> ordens = ordemServicoRepository.findByPeriodo(fim.minusDays(30), fim);
+        percorrer(ordens);
+
+        assertThat(ordens).hasSizeGreaterThan(1);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resumosDoRelatorioUsamUmaConsultaCada() {
+        LocalDateTime fim = LocalDateTime.now().plusDays(1);
+        LocalDateTime inicio = fim.minusDays(30);
+
+        ordemServicoRepository.resumirPeriodo(inicio, fim);
+        ordemServicoRepository.resumirPorStatusNoPeriodo(inicio, fim);
+        ordemServicoRepository.resumirPorResponsavelNoPeriodo(inicio, fim);
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // GET /api/ordens-servico/relatorio/exportar em NDJSON: o cursor e os equipamentos do bloco
+    @Test
+    void exportacaoCarregaEquipamentosPorBloco() {
+        LocalDateTime fim = LocalDateTime.now().plusDays(1);
+        List<Long> ids;
+        try (Stream<OrdemServico> ordens = ordemServicoRepository.streamByPeriodo(fim.minusDays(30), fim)) {
+            ids = ordens.peek(os -> assertThat(os.getResponsavel().getNome()).isNotNull())
+                    .map(OrdemServico::getId)
+                    .collect(Collectors.toList());
+        }
+        List<EquipamentoUsadoResumo> equipamentos = equipamentoUsadoRepository.listarPorOrdens(ids);
+
+        assertThat(ids).hasSizeGreaterThan(1);
+        assertThat(equipamentos).isNotEmpty();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // Acessa tudo o que o OrdemServicoDTO.fromEntity acessa
+    private static void percorrer(List<OrdemServico> ordens) {
+        for (OrdemServico os : ordens) {
+            assertThat(os.getResponsavel().getNome()).isNotNull();
+            for (EquipamentoUsado equipamento : os.getEquipamentosUsados()) {
+                assertThat(equipamento.getProduto().getNome()).isNotNull();
+            }
+        }
+    }
+}
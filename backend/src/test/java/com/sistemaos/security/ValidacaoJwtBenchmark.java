@@ -0,0 +1,75 @@
+package com.sistemaos.security;
+
+import com.sistemaos.domain.entity.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verificados por segundo pelo {@link JwtUtil#validar}, com o cache
+ * de tokens verificados desligado (verificação completa da assinatura a cada
+ * chamada, com o parser e a chave compartilhados) e ligado.
+ *
+ * Os tokens se alternam entre {@value #TOKENS} usuários distintos, como
+ * requisições de sessões diferentes chegando ao filtro.
+ *
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sistemaos.security.ValidacaoJwtBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacaoJwtBenchmark {
+
+    private static final int TOKENS = 100;
+
+    @Param({"0", "1000"})
+    public int tamanhoCacheTokens;
+
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "chave_de_benchmark_com_pelo_menos_32_caracteres_para_256_bits");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "tamanhoCacheTokens", tamanhoCacheTokens);
+        jwtUtil.inicializar();
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken(Usuario.builder()
+                    .id((long) i)
+                    .email("usuario" + i + "@sistemaos.com")
+                    .tipo(Usuario.TipoUsuario.OPERADOR)
+                    .versaoToken(0L)
+                    .build());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Posicao {
+        int proximo;
+    }
+
+    @Benchmark
+    public TokenValidado validar(Posicao posicao) {
+        String token = tokens[posicao.proximo];
+        posicao.proximo = (posicao.proximo + 1) % TOKENS;
+        return jwtUtil.validar(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValidacaoJwtBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.sistemaos.service;
+
+import com.sistemaos.SistemaOsApplication;
+import com.sistemaos.domain.dto.EquipamentoUsadoDTO;
+import com.sistemaos.domain.dto.OrdemServicoCreateDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linhas gravadas por segundo na criação de OS e na importação em massa,
+ * com e sem inserts em lote.
+ *
+ * {@code tamanhoLoteJdbc = 1} reproduz o comportamento anterior aos IDs por
+ * sequence (com IDENTITY o Hibernate grava uma linha por ida ao banco); 50 é
+ * a configuração atual. Cada execução sobe a aplicação sem servidor web sobre
+ * um PostgreSQL do Testcontainers, então precisa de Docker.
+ *
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sistemaos.service.InsercaoOrdemServicoBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsercaoOrdemServicoBenchmark {
+
+    private static final int ITENS_POR_OS = 10;
+    private static final int OS_POR_IMPORTACAO = 500;
+    private static final int ITENS_POR_OS_IMPORTADA = 2;
+
+    @Param({"1", "50"})
+    public int tamanhoLoteJdbc;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext contexto;
+    private OrdemServicoService ordemServicoService;
+    private ImportacaoOrdemServicoService importacaoService;
+    private OrdemServicoCreateDTO ordem;
+    private byte[] arquivoImportacao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        contexto = new SpringApplicationBuilder(SistemaOsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanhoLoteJdbc,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.sistemaos=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+        ordemServicoService = contexto.getBean(OrdemServicoService.class);
+        importacaoService = contexto.getBean(ImportacaoOrdemServicoService.class);
+
+        // Responsável 1 e produtos 1 a 15 vêm do data.sql
+        List<EquipamentoUsadoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_OS; i++) {
+            itens.add(EquipamentoUsadoDTO.builder().produtoId((long) (i % 15) + 1).quantidade(1).build());
+        }
+        ordem = OrdemServicoCreateDTO.builder()
+                .nomeCliente("Cliente Benchmark")
+                .documentoCliente("111.222.333-44")
+                .telefoneCliente("(11) 90000-0000")
+                .enderecoCliente("Rua Benchmark, 1")
+                .descricaoProblema("Não liga")
+                .equipamento("Notebook")
+                .responsavelId(1L)
+                .equipamentosUsados(itens)
+                .build();
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < OS_POR_IMPORTACAO; i++) {
+            ndjson.append("{\"nomeCliente\":\"Cliente ").append(i)
+                    .append("\",\"documentoCliente\":\"111.222.333-44\",\"telefoneCliente\":\"(11) 90000-0000\"")
+                    .append(",\"enderecoCliente\":\"Rua Benchmark, 1\",\"descricaoProblema\":\"Não liga\"")
+                    .append(",\"equipamento\":\"Notebook\",\"responsavelId\":1,\"equipamentosUsados\":[")
+                    .append("{\"produtoId\":1,\"quantidade\":1},{\"produtoId\":2,\"quantidade\":2}]}\n");
+        }
+        arquivoImportacao = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+        postgres.stop();
+    }
+
+    // Uma OS com seus itens: 1 + ITENS_POR_OS linhas por chamada
+    @Benchmark
+    @OperationsPerInvocation(1 + ITENS_POR_OS)
+    public Object criarOrdem() {
+        return ordemServicoService.criar(ordem);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OS_POR_IMPORTACAO * (1 + ITENS_POR_OS_IMPORTADA))
+    public Object importarEmMassa() throws IOException {
+        return importacaoService.importar(new ByteArrayInputStream(arquivoImportacao), FormatoArquivo.NDJSON);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InsercaoOrdemServicoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
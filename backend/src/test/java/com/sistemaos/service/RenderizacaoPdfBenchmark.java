@@ -0,0 +1,90 @@
+package com.sistemaos.service;
+
+import com.sistemaos.domain.entity.EquipamentoUsado;
+import com.sistemaos.domain.entity.OrdemServico;
+import com.sistemaos.domain.entity.Produto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDFs de OS renderizados por segundo por thread, com a OS já carregada
+ * (sem banco nem cache): mede só o layout e a escrita do documento.
+ *
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sistemaos.service.RenderizacaoPdfBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderizacaoPdfBenchmark {
+
+    // OS típica e fechamento com muitas peças (tabela em mais de uma página)
+    @Param({"3", "60"})
+    public int itens;
+
+    private final PDFService pdfService = new PDFService();
+    private final ByteArrayOutputStream saida = new ByteArrayOutputStream(64 * 1024);
+    private OrdemServico os;
+
+    @Setup(Level.Trial)
+    public void montarOrdem() {
+        os = OrdemServico.builder()
+                .id(1L)
+                .numero("OS-2026-000001")
+                .nomeCliente("Maria Silva")
+                .documentoCliente("123.456.789-00")
+                .telefoneCliente("(11) 97777-7777")
+                .enderecoCliente("Rua A, 123")
+                .equipamento("Notebook Dell Inspiron")
+                .marca("Dell")
+                .modelo("Inspiron 15")
+                .numeroSerie("ABC123456")
+                .dataAbertura(LocalDateTime.of(2026, 1, 10, 9, 30))
+                .dataFechamento(LocalDateTime.of(2026, 1, 12, 17, 0))
+                .status(OrdemServico.StatusOrdemServico.CONCLUIDA)
+                .descricaoProblema("Computador não liga")
+                .solucao("Fonte substituída e limpeza interna")
+                .valorTotal(new BigDecimal("499.90"))
+                .build();
+
+        List<EquipamentoUsado> equipamentos = new ArrayList<>();
+        for (int i = 1; i <= itens; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i);
+            produto.setNome("Peça " + i);
+            equipamentos.add(EquipamentoUsado.builder()
+                    .ordemServico(os)
+                    .produto(produto)
+                    .quantidade(i % 3 + 1)
+                    .valorUnitario(new BigDecimal("19.90"))
+                    .valorTotal(new BigDecimal("19.90").multiply(BigDecimal.valueOf(i % 3 + 1)))
+                    .build());
+        }
+        os.setEquipamentosUsados(equipamentos);
+    }
+
+    @Benchmark
+    public int renderizar() {
+        saida.reset();
+        pdfService.gerarPDF(os, saida);
+        return saida.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RenderizacaoPdfBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
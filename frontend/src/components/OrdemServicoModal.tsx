@@ -3,7 +3,7 @@ import { Dialog, Transition } from "@headlessui/react";
 import { XMarkIcon } from "@heroicons/react/24/outline";
 import InputMask from "react-input-mask";
 import api from "../lib/axios";
-import { Produto, EquipamentoUsado } from "../types";
+import { Produto, EquipamentoUsado, Cliente } from "../types";
 import { useAuth } from "../contexts/AuthContext";
 import { useToast } from "../contexts/ToastContext";
 
@@ -56,6 +56,42 @@ export default function OrdemServicoModal({
     responsavelId: 0,
     valorTotal: 0,
   });
+  const [sugestoesClientes, setSugestoesClientes] = useState<Cliente[]>([]);
+
+  // Autocompletar do cliente: o índice do backend fica em memória, então basta um debounce curto
+  useEffect(() => {
+    const termo = formData.nomeCliente.trim();
+    if (ordemServico || termo.length < 2) {
+      setSugestoesClientes([]);
+      return;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await api.get<Cliente[]>("/api/clientes/sugestoes", {
+          params: { termo, limite: 8 },
+        });
+        setSugestoesClientes(response.data);
+      } catch (error) {
+        setSugestoesClientes([]);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [formData.nomeCliente, ordemServico]);
+
+  const handleNomeClienteChange = (nome: string) => {
+    const cliente = sugestoesClientes.find((c) => c.nome === nome);
+    setFormData((prev) =>
+      cliente
+        ? {
+            ...prev,
+            nomeCliente: cliente.nome,
+            documentoCliente: cliente.documento || "",
+            telefoneCliente: cliente.contato || "",
+            enderecoCliente: cliente.endereco || "",
+          }
+        : { ...prev, nomeCliente: nome }
+    );
+  };
 
   useEffect(() => {
     if (user) {
@@ -279,15 +315,21 @@ export default function OrdemServicoModal({
                             <input
                               type="text"
                               id="nomeCliente"
+                              list="sugestoesClientes"
+                              autoComplete="off"
                               value={formData.nomeCliente}
                               onChange={(e) =>
-                                setFormData((prev) => ({
-                                  ...prev,
-                                  nomeCliente: e.target.value,
-                                }))
+                                handleNomeClienteChange(e.target.value)
                               }
                               className="block w-full rounded-md border-0 py-2.5 px-3 text-gray-900 shadow-sm ring-1 ring-inset ring-gray-300 placeholder:text-gray-400 focus:ring-2 focus:ring-inset focus:ring-primary/60 sm:text-sm sm:leading-6 transition-shadow duration-200"
                             />
+                            <datalist id="sugestoesClientes">
+                              {sugestoesClientes.map((cliente) => (
+                                <option key={cliente.id} value={cliente.nome}>
+                                  {cliente.documento}
+                                </option>
+                              ))}
+                            </datalist>
                           </div>
 
                           <div>
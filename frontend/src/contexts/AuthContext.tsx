@@ -27,6 +27,7 @@ interface AuthContextType {
 const AuthContext = createContext<AuthContextType | undefined>(undefined);
 
 const TOKEN_KEY = "@SistemaOS:token";
+const REFRESH_TOKEN_KEY = "@SistemaOS:refreshToken";
 const USER_KEY = "@SistemaOS:user";
 
 interface AuthProviderProps {
@@ -54,11 +55,12 @@ export function AuthProvider({ children }: AuthProviderProps) {
       const response = await api.post("/api/auth/login", { email, senha });
       const {
         token,
+        refreshToken,
         id,
         nome,
         email: userEmail,
         tipoUsuario,
-        avatar,
+        avatarUrl,
       } = response.data;
 
       const userData = {
@@ -66,10 +68,12 @@ export function AuthProvider({ children }: AuthProviderProps) {
         nome,
         email: userEmail,
         tipo: tipoUsuario,
-        avatar,
+        // O login traz só a URL (relativa à API) da miniatura, não a imagem
+        avatar: avatarUrl ? `${api.defaults.baseURL}${avatarUrl}` : undefined,
       };
 
       localStorage.setItem(TOKEN_KEY, token);
+      localStorage.setItem(REFRESH_TOKEN_KEY, refreshToken);
       localStorage.setItem(USER_KEY, JSON.stringify(userData));
       api.defaults.headers.common["Authorization"] = `Bearer ${token}`;
 
@@ -88,7 +92,19 @@ export function AuthProvider({ children }: AuthProviderProps) {
   };
 
   const logout = () => {
+    // Revoga os tokens no servidor; a sessão local é encerrada de qualquer forma
+    const token = localStorage.getItem(TOKEN_KEY);
+    const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY);
+    api
+      .post(
+        "/api/auth/logout",
+        { refreshToken },
+        { headers: token ? { Authorization: `Bearer ${token}` } : {} }
+      )
+      .catch(() => undefined);
+
     localStorage.removeItem(TOKEN_KEY);
+    localStorage.removeItem(REFRESH_TOKEN_KEY);
     localStorage.removeItem(USER_KEY);
     api.defaults.headers.common["Authorization"] = "";
     setUser(null);
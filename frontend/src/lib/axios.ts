@@ -23,18 +23,59 @@ api.interceptors.request.use(
   }
 );
 
+const TOKEN_KEY = "@SistemaOS:token";
+const REFRESH_TOKEN_KEY = "@SistemaOS:refreshToken";
+const USER_KEY = "@SistemaOS:user";
+
+// Uma única renovação em andamento, compartilhada pelas requisições que receberem 401
+let renovacao: Promise<string> | null = null;
+
+function renovarToken(): Promise<string> {
+  if (!renovacao) {
+    const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY);
+    renovacao = (
+      refreshToken
+        ? axios.post(`${api.defaults.baseURL}/api/auth/refresh`, { refreshToken })
+        : Promise.reject(new Error("Sem refresh token"))
+    )
+      .then((response) => {
+        localStorage.setItem(TOKEN_KEY, response.data.token);
+        localStorage.setItem(REFRESH_TOKEN_KEY, response.data.refreshToken);
+        api.defaults.headers.common["Authorization"] = `Bearer ${response.data.token}`;
+        return response.data.token as string;
+      })
+      .finally(() => {
+        renovacao = null;
+      });
+  }
+  return renovacao;
+}
+
 // Interceptor para tratamento de erros
 api.interceptors.response.use(
   (response) => {
     return response;
   },
-  (error) => {
+  async (error) => {
+    const original = error.config;
     if (
       error.response?.status === 401 &&
       window.location.pathname !== "/login"
     ) {
-      localStorage.removeItem("@SistemaOS:token");
-      localStorage.removeItem("@SistemaOS:user");
+      // O access token dura pouco: tenta renovar uma vez antes de encerrar a sessão
+      if (original && !original._renovado && !original.url?.startsWith("/api/auth/")) {
+        original._renovado = true;
+        try {
+          const token = await renovarToken();
+          original.headers.Authorization = `Bearer ${token}`;
+          return api(original);
+        } catch {
+          // segue para a limpeza da sessão
+        }
+      }
+      localStorage.removeItem(TOKEN_KEY);
+      localStorage.removeItem(REFRESH_TOKEN_KEY);
+      localStorage.removeItem(USER_KEY);
     }
     return Promise.reject(error);
   }
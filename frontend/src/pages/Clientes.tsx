@@ -1,13 +1,16 @@
 import { useState, useEffect } from "react";
 import { useToast } from "../contexts/ToastContext";
 import api from "../lib/axios";
-import { Cliente, ClienteCreateDTO } from "../types";
+import { Cliente, ClienteCreateDTO, PaginaCursor } from "../types";
 import { PencilSimple, Trash, Plus, X, Check } from "@phosphor-icons/react";
 
 export default function Clientes() {
   const { showToast } = useToast();
   const [clientes, setClientes] = useState<Cliente[]>([]);
   const [loading, setLoading] = useState(true);
+  const [busca, setBusca] = useState("");
+  const [campoBusca, setCampoBusca] = useState<"nome" | "documento" | "telefone">("nome");
+  const [proximoCursor, setProximoCursor] = useState<string | null>(null);
   const [modalOpen, setModalOpen] = useState(false);
   const [editingCliente, setEditingCliente] = useState<Cliente | null>(null);
   const [formData, setFormData] = useState<ClienteCreateDTO>({
@@ -17,19 +20,31 @@ export default function Clientes() {
     endereco: "",
   });
 
+  // Busca paginada no servidor; espera o usuário parar de digitar
   useEffect(() => {
-    fetchClientes();
-  }, []);
+    const timer = setTimeout(() => fetchClientes(), 300);
+    return () => clearTimeout(timer);
+  }, [busca, campoBusca]);
 
-  const fetchClientes = async () => {
+  const fetchClientes = async (cursor?: string) => {
     try {
-      setLoading(true);
-      const response = await api.get<Cliente[]>("/api/clientes");
-      setClientes(response.data);
+      const termo = busca.trim();
+      const response = await api.get<PaginaCursor<Cliente>>("/api/clientes/busca", {
+        params: {
+          ...(termo ? { [campoBusca]: termo } : {}),
+          cursor,
+          tamanho: 50,
+        },
+      });
+      setClientes((atuais) =>
+        cursor ? [...atuais, ...response.data.conteudo] : response.data.conteudo
+      );
+      setProximoCursor(response.data.proximoCursor);
     } catch (error) {
       console.error("Erro ao buscar clientes:", error);
       showToast("Erro ao carregar clientes", "error");
       setClientes([]);
+      setProximoCursor(null);
     } finally {
       setLoading(false);
     }
@@ -182,6 +197,26 @@ export default function Clientes() {
         </button>
       </div>
 
+      {/* Busca */}
+      <div className="flex gap-2">
+        <select
+          value={campoBusca}
+          onChange={(e) => setCampoBusca(e.target.value as typeof campoBusca)}
+          className="border border-gray-300 rounded-lg px-3 py-2 text-sm"
+        >
+          <option value="nome">Nome</option>
+          <option value="documento">Documento</option>
+          <option value="telefone">Telefone</option>
+        </select>
+        <input
+          type="text"
+          value={busca}
+          onChange={(e) => setBusca(e.target.value)}
+          placeholder="Buscar clientes (início do texto)"
+          className="flex-1 border border-gray-300 rounded-lg px-3 py-2 text-sm"
+        />
+      </div>
+
       {/* Tabela de Clientes */}
       <div className="bg-white rounded-lg shadow overflow-hidden">
         {clientes.length === 0 ? (
@@ -265,6 +300,16 @@ export default function Clientes() {
             </tbody>
           </table>
         )}
+        {proximoCursor && (
+          <div className="p-4 text-center border-t">
+            <button
+              onClick={() => fetchClientes(proximoCursor)}
+              className="text-primary hover:text-primary/80 text-sm font-medium"
+            >
+              Carregar mais
+            </button>
+          </div>
+        )}
       </div>
 
       {/* Modal de Cadastro/Edição */}
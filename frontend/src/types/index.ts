@@ -6,7 +6,7 @@ export type Usuario = {
   email: string;
   senha?: string;
   tipo: TipoUsuario;
-  avatar?: string;
+  avatarUrl?: string;
   createdAt: string;
   updatedAt: string;
 };
@@ -79,6 +79,13 @@ export type Cliente = {
   updatedAt: string;
 };
 
+export type PaginaCursor<T> = {
+  conteudo: T[];
+  tamanho: number;
+  temProxima: boolean;
+  proximoCursor: string | null;
+};
+
 export type ClienteCreateDTO = {
   documento: string;
   nome: string;